@@ -0,0 +1,90 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ubleipzig.metadata.extractor.disassembler.CanvasStructureIndex;
+import de.ubleipzig.metadata.templates.Manifest;
+import de.ubleipzig.metadata.templates.v2.Structure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static de.ubleipzig.metadata.extractor.ExtractorUtils.getKeysByValue;
+
+/**
+ * CanvasIndexBenchmark.
+ *
+ * <p>Resolving the structures of every canvas by scanning all structure canvas lists per canvas, against
+ * building a {@link CanvasStructureIndex} once and looking each canvas up.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CanvasIndexBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({Fixtures.MANIFEST, "2000x500"})
+    public String manifest;
+
+    private List<Structure> structures;
+    private List<String> canvasIds;
+
+    @Setup
+    public void setup() throws IOException {
+        final Manifest parsed = MAPPER.readValue(Fixtures.manifest(manifest), Manifest.class);
+        structures = parsed.getStructures();
+        canvasIds = parsed.getSequences().get(0).getCanvases().stream().map(c -> c.getId()).collect(
+                Collectors.toList());
+    }
+
+    @Benchmark
+    public void scan(final Blackhole bh) {
+        final Map<String, List<String>> structureMap = new HashMap<>();
+        structures.stream().filter(s -> s.getCanvases() != null).forEach(
+                s -> structureMap.put(s.getId(), s.getCanvases()));
+        for (String canvasId : canvasIds) {
+            bh.consume(getKeysByValue(structureMap, canvasId));
+        }
+    }
+
+    @Benchmark
+    public void index(final Blackhole bh) {
+        final CanvasStructureIndex index = new CanvasStructureIndex(structures);
+        for (String canvasId : canvasIds) {
+            bh.consume(index.get(canvasId));
+        }
+    }
+}
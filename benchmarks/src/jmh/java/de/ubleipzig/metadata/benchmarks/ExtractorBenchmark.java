@@ -0,0 +1,82 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.benchmarks;
+
+import de.ubleipzig.metadata.extractor.disassembler.DimensionManifestBuilder;
+import de.ubleipzig.metadata.extractor.disassembler.Disassembler;
+import de.ubleipzig.metadata.extractor.mapper.BodleianMetadataMapper;
+import de.ubleipzig.metadata.extractor.mapper.MetadataMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExtractorBenchmark.
+ *
+ * <p>The extractor route handlers on the checked-in manifest and on scaled manifests. Image services are
+ * stubbed through the dimension cache, so {@link DimensionManifestBuilder} measures only the local work.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ExtractorBenchmark {
+
+    @Param({Fixtures.MANIFEST, "200x50", "2000x500"})
+    public String manifest;
+
+    private String json;
+    private String bodleian;
+
+    @Setup
+    public void setup() throws IOException {
+        json = Fixtures.manifest(manifest);
+        bodleian = Fixtures.withBodleianMetadata(json);
+        Fixtures.stubImageDimensions(json);
+    }
+
+    @Benchmark
+    public String extract() {
+        return new MetadataMapper(json).build();
+    }
+
+    @Benchmark
+    public String extractBodleian() {
+        return new BodleianMetadataMapper(bodleian).build();
+    }
+
+    @Benchmark
+    public String disassemble() {
+        return new Disassembler(json).build();
+    }
+
+    @Benchmark
+    public String dimensions() {
+        return new DimensionManifestBuilder(json).build();
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.ubleipzig.metadata.extractor.dimensions.ImageDimensionCache;
+import de.ubleipzig.metadata.templates.ImageServiceResponse;
+import de.ubleipzig.metadata.templates.metsmods.MetsMods;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Fixtures.
+ *
+ * <p>Benchmark inputs. Named fixtures are read from the checked-in resources, and a spec of the form
+ * {@code <canvases>x<ranges>} scales the checked-in manifest to that many canvases and ranges, so sizes can
+ * be varied without checking in large files.</p>
+ */
+public final class Fixtures {
+
+    public static final String MANIFEST = "0000005815";
+    public static final String METS = "test-mets";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String BASE = "https://iiif.ub.uni-leipzig.de/0000005815/";
+
+    private Fixtures() {
+    }
+
+    private static String resource(final String path) {
+        try (InputStream is = Fixtures.class.getResourceAsStream(path)) {
+            if (is == null) {
+                throw new IllegalArgumentException("No fixture " + path);
+            }
+            return new String(is.readAllBytes(), UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param spec a fixture name or {@code <canvases>x<ranges>}
+     * @return the manifest as a String
+     */
+    public static String manifest(final String spec) {
+        final String fixture = resource("/manifests/" + MANIFEST + ".json");
+        if (!spec.contains("x")) {
+            return spec.equals(MANIFEST) ? fixture : resource("/manifests/" + spec + ".json");
+        }
+        final String[] size = spec.split("x");
+        return scaleManifest(fixture, Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+    }
+
+    /**
+     * Repeats the canvases of a manifest up to {@code canvases} and replaces its structures with a top range
+     * over {@code ranges} ranges. Each range covers a contiguous slice of canvases that overlaps the next slice
+     * by one canvas, and every tenth range also covers the whole of the following slice, so canvases belong to
+     * several ranges as in heavily ranged manuscripts.
+     *
+     * @param json String
+     * @param canvases int
+     * @param ranges int
+     * @return String
+     */
+    public static String scaleManifest(final String json, final int canvases, final int ranges) {
+        try {
+            final ObjectNode manifest = (ObjectNode) MAPPER.readTree(json);
+            final ObjectNode sequence = (ObjectNode) manifest.get("sequences").get(0);
+            final ArrayNode source = (ArrayNode) sequence.get("canvases");
+            final ArrayNode scaled = MAPPER.createArrayNode();
+            final List<String> canvasIds = new ArrayList<>(canvases);
+            for (int n = 1; n <= canvases; n++) {
+                final ObjectNode canvas = source.get((n - 1) % source.size()).deepCopy();
+                final String canvasId = BASE + "canvas/" + format("%08d", n);
+                canvas.put("@id", canvasId);
+                canvas.put("label", "[" + n + "]");
+                final ObjectNode image = (ObjectNode) canvas.get("images").get(0);
+                image.put("on", canvasId);
+                final ObjectNode resource = (ObjectNode) image.get("resource");
+                resource.put("@id", BASE + format("%08d", n) + ".jpg");
+                ((ObjectNode) resource.get("service")).put("@id", serviceId(n));
+                scaled.add(canvas);
+                canvasIds.add(canvasId);
+            }
+            sequence.set("canvases", scaled);
+
+            final ArrayNode structures = MAPPER.createArrayNode();
+            final ObjectNode top = structures.addObject();
+            top.put("@id", BASE + "range/LOG_0000");
+            top.put("@type", "sc:Range");
+            top.put("label", "TOC");
+            final ArrayNode topRanges = top.putArray("ranges");
+            final int slice = Math.max(1, canvases / Math.max(1, ranges));
+            for (int r = 1; r <= ranges; r++) {
+                final String rangeId = BASE + "range/" + format("LOG_%04d", r);
+                topRanges.add(rangeId);
+                final ObjectNode range = structures.addObject();
+                range.put("@id", rangeId);
+                range.put("@type", "sc:Range");
+                range.put("label", "Range " + r);
+                final ArrayNode members = range.putArray("canvases");
+                final int from = ((r - 1) * slice) % canvases;
+                final int length = r % 10 == 0 ? 2 * slice + 1 : slice + 1;
+                for (int c = from; c < Math.min(canvases, from + length); c++) {
+                    members.add(canvasIds.get(c));
+                }
+            }
+            manifest.set("structures", structures);
+            return MAPPER.writeValueAsString(manifest);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Replaces the metadata of a manifest with the Dublin Core style labels of the Bodleian manifests.
+     *
+     * @param json String
+     * @return String
+     */
+    public static String withBodleianMetadata(final String json) {
+        final String[][] labels = {{"Title", "MS. Laud Misc. 108"}, {"Creator", "Unknown"},
+                {"Date", "13th century"}, {"Language", "Middle English"}, {"Displaylanguage", "English"},
+                {"Collection", "Western Manuscripts"}, {"Shelfmark", "MS. Laud Misc. 108"},
+                {"Location", "Bodleian Library"}, {"Subject", "Romances"}, {"Type", "Manuscript"},
+                {"Description", "Parchment codex"}, {"Format", "260 x 185 mm"},
+                {"Identifier", "ark:/29072/x0000005815"}, {"Source", "Oxford"},
+                {"Accessrights", "Photo: Bodleian Libraries"}, {"Catalogueid", "5815"}};
+        try {
+            final ObjectNode manifest = (ObjectNode) MAPPER.readTree(json);
+            final ArrayNode metadata = manifest.putArray("metadata");
+            for (String[] label : labels) {
+                metadata.addObject().put("label", label[0]).put("value", label[1]);
+            }
+            return MAPPER.writeValueAsString(manifest);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param n int
+     * @return the image service IRI of the n-th scaled canvas
+     */
+    public static String serviceId(final int n) {
+        return format("https://iiif.ub.uni-leipzig.de/iiif/j2k/0000/0058/0000005815/%08d.jpx", n);
+    }
+
+    /**
+     * Stubs the image services by seeding the shared dimension cache for every service in a manifest, so the
+     * dimension fetcher never goes to the network.
+     *
+     * @param json String
+     */
+    public static void stubImageDimensions(final String json) {
+        try {
+            final ImageDimensionCache cache = ImageDimensionCache.getInstance();
+            for (JsonNode sequence : MAPPER.readTree(json).path("sequences")) {
+                for (JsonNode canvas : sequence.path("canvases")) {
+                    for (JsonNode image : canvas.path("images")) {
+                        final String id = image.path("resource").path("service").path("@id").asText();
+                        final ImageServiceResponse dims = new ImageServiceResponse();
+                        dims.setWidth(canvas.path("width").asInt(3840));
+                        dims.setHeight(canvas.path("height").asInt(5760));
+                        cache.get(id, s -> dims);
+                        cache.get(id.replace("http://", "https://"), s -> dims);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param spec a fixture name or a page count
+     * @return the METS document as a String
+     */
+    public static String mets(final String spec) {
+        if (!spec.chars().allMatch(Character::isDigit)) {
+            return resource("/mets/" + spec + ".xml");
+        }
+        return buildMets(Integer.parseInt(spec));
+    }
+
+    /**
+     * Builds a METS/MODS document with {@code pages} physical divs and one logical chapter per eight pages.
+     *
+     * @param pages int
+     * @return String
+     */
+    public static String buildMets(final int pages) {
+        final StringBuilder sb = new StringBuilder(pages * 600);
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<mets:mets xmlns:mets=\"http://www.loc.gov/METS/\" ")
+                .append("xmlns:mods=\"http://www.loc.gov/mods/v3\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" ")
+                .append("xmlns:dv=\"http://dfg-viewer.de/\">\n")
+                .append("<mets:dmdSec ID=\"DMDLOG_0000\"><mets:mdWrap MDTYPE=\"MODS\"><mets:xmlData><mods:mods>")
+                .append("<mods:titleInfo><mods:title>Benchmark</mods:title></mods:titleInfo>")
+                .append("<mods:identifier type=\"urn\">urn:nbn:de:bsz:15-0000-000000</mods:identifier>")
+                .append("<mods:typeOfResource manuscript=\"yes\">text</mods:typeOfResource>")
+                .append("<mods:language><mods:languageTerm type=\"code\">lat</mods:languageTerm></mods:language>")
+                .append("<mods:location><mods:shelfLocator>Ms 1</mods:shelfLocator></mods:location>")
+                .append("</mods:mods></mets:xmlData></mets:mdWrap></mets:dmdSec>\n")
+                .append("<mets:amdSec ID=\"AMD\"><mets:rightsMD ID=\"RIGHTS\"><mets:mdWrap MDTYPE=\"OTHER\">")
+                .append("<mets:xmlData><dv:rights><dv:owner>Universitaetsbibliothek Leipzig</dv:owner>")
+                .append("</dv:rights></mets:xmlData></mets:mdWrap></mets:rightsMD>")
+                .append("<mets:digiprovMD ID=\"DIGIPROV\"><mets:mdWrap MDTYPE=\"OTHER\"><mets:xmlData><dv:links>")
+                .append("<dv:presentation>https://digital.ub.uni-leipzig.de/object/viewid/0000000001</dv:presentation>")
+                .append("</dv:links></mets:xmlData></mets:mdWrap></mets:digiprovMD></mets:amdSec>\n")
+                .append("<mets:fileSec><mets:fileGrp USE=\"DEFAULT\">\n");
+        for (int n = 1; n <= pages; n++) {
+            sb.append(format("<mets:file ID=\"FILE_%04d\" MIMETYPE=\"image/jpeg\"><mets:FLocat LOCTYPE=\"URL\" "
+                    + "xlink:href=\"https://images.test/%08d.jpg\"/></mets:file>\n", n, n));
+        }
+        sb.append("</mets:fileGrp></mets:fileSec>\n")
+                .append("<mets:structMap TYPE=\"LOGICAL\"><mets:div ID=\"LOG_0000\" TYPE=\"manuscript\" ")
+                .append("LABEL=\"Benchmark\">\n");
+        final int chapters = Math.max(1, pages / 8);
+        for (int c = 1; c <= chapters; c++) {
+            sb.append(format("<mets:div ID=\"LOG_%04d\" TYPE=\"chapter\" LABEL=\"Chapter %d\"/>\n", c, c));
+        }
+        sb.append("</mets:div></mets:structMap>\n")
+                .append("<mets:structMap TYPE=\"PHYSICAL\"><mets:div ID=\"PHYS_0000\" TYPE=\"physSequence\">\n");
+        for (int n = 1; n <= pages; n++) {
+            sb.append(format("<mets:div ID=\"PHYS_%04d\" ORDER=\"%d\" ORDERLABEL=\"%d\" TYPE=\"page\">"
+                    + "<mets:fptr FILEID=\"FILE_%04d\"/></mets:div>\n", n, n, n, n));
+        }
+        sb.append("</mets:div></mets:structMap>\n<mets:structLink>\n");
+        for (int n = 1; n <= pages; n++) {
+            sb.append(format("<mets:smLink xlink:from=\"LOG_%04d\" xlink:to=\"PHYS_%04d\"/>\n",
+                    Math.min(chapters, (n - 1) / 8 + 1), n));
+        }
+        return sb.append("</mets:structLink>\n</mets:mets>\n").toString();
+    }
+
+    /**
+     * Builds the MetsMods record the xml database API returns for a manuscript with {@code structures}
+     * logical structures.
+     *
+     * @param structures int
+     * @return MetsMods
+     */
+    public static MetsMods metsMods(final int structures) {
+        final Map<String, Object> metadata = new LinkedHashMap<>();
+        final Map<String, String> author = new LinkedHashMap<>();
+        author.put("label", "Paulinus Forojuliensis s. Aquilejensis");
+        author.put("GND", "http://d-nb.info/gnd/118882252");
+        metadata.put("author", author);
+        metadata.put("collection", List.of("Leipziger Mittelalterliche Handschriften", "Codices Graeci"));
+        metadata.put("language-iso639-2", List.of("lat", "ger"));
+        metadata.put("manifestType", "manuscript");
+        metadata.put("subTitle", "Die goldene Bulle");
+        metadata.put("callNumber", "Ms 1091");
+        metadata.put("date", "um 1450");
+        metadata.put("place", "Leipzig");
+        metadata.put("urn", "urn:nbn:de:bsz:15-0012-177963");
+        metadata.put("ppn", "1653226728");
+        metadata.put("recordDate", "2018-01-24T09:37:38");
+        metadata.put("script-iso15924", "Latn");
+        final List<Map<String, Object>> structureList = new ArrayList<>();
+        for (int s = 0; s <= structures; s++) {
+            final Map<String, Object> structure = new LinkedHashMap<>();
+            structure.put("structId", format("LOG_%04d", s));
+            structure.put("structType", s == 0 ? "manuscript" : "chapter");
+            if (s % 5 == 1) {
+                structure.put("author", author);
+            }
+            structureList.add(structure);
+        }
+        final Map<String, Object> record = new LinkedHashMap<>();
+        record.put("metadata", metadata);
+        record.put("structures", structureList);
+        return MAPPER.convertValue(record, MetsMods.class);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.benchmarks;
+
+import de.ubleipzig.metadata.transformer.LabelTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * LabelTableBenchmark.
+ *
+ * <p>The label work done for each manifest, filtering the {@code metadataLabels} bundles and parsing their display
+ * orders, against reading the compiled {@link LabelTable}s.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LabelTableBenchmark {
+    private static final ResourceBundle deutschLabels = ResourceBundle.getBundle("metadataLabels", Locale.GERMAN);
+    private static final ResourceBundle englishLabels = ResourceBundle.getBundle("metadataLabels", Locale.ENGLISH);
+    private static final String[] EXCLUDED = {
+            "displayOrder", "language-iso639-2", "collection", "author", "manifestType", "structType"};
+
+    @Benchmark
+    public void bundle(final Blackhole bh) {
+        for (ResourceBundle labels : new ResourceBundle[]{englishLabels, deutschLabels}) {
+            final Set<String> filtered = labels.keySet().stream().filter(
+                    k -> Arrays.stream(EXCLUDED).noneMatch(k::contains)).collect(Collectors.toSet());
+            filtered.forEach(k -> {
+                bh.consume(labels.getString(k));
+                bh.consume(Integer.valueOf(labels.getString(k + ".displayOrder")));
+            });
+        }
+    }
+
+    @Benchmark
+    public void table(final Blackhole bh) {
+        for (LabelTable labels : new LabelTable[]{LabelTable.ENGLISH, LabelTable.DEUTSCH}) {
+            labels.getFilteredLabels().forEach(l -> {
+                bh.consume(l.getDisplayLabel());
+                bh.consume(l.getDisplayOrder());
+            });
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.benchmarks;
+
+import de.ubleipzig.metadata.templates.Metadata;
+import de.ubleipzig.metadata.templates.metsmods.MetsMods;
+import de.ubleipzig.metadata.transformer.MetadataImplVersion2;
+import de.ubleipzig.metadata.transformer.MetadataImplVersion3;
+import de.ubleipzig.metadata.templates.v3.MetadataVersion3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MetadataBenchmark.
+ *
+ * <p>Building the final metadata of a manuscript record in both presentation versions.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MetadataBenchmark {
+
+    private MetsMods metsMods;
+
+    @Setup
+    public void setup() {
+        metsMods = Fixtures.metsMods(50);
+    }
+
+    @Benchmark
+    public List<Metadata> version2() {
+        final MetadataImplVersion2 metadata = new MetadataImplVersion2();
+        metadata.setMetsMods(metsMods);
+        metadata.buildFinalMetadata();
+        return metadata.getMetadata();
+    }
+
+    @Benchmark
+    public List<MetadataVersion3> version3() {
+        final MetadataImplVersion3 metadata = new MetadataImplVersion3();
+        metadata.setMetsMods(metsMods);
+        metadata.buildFinalMetadata();
+        return metadata.getMetadata();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.benchmarks;
+
+import de.ubleipzig.metadata.producer.doc.MetsData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static de.ubleipzig.metadata.producer.doc.MetsManifestBuilder.getFileIdForDiv;
+import static de.ubleipzig.metadata.producer.doc.MetsManifestBuilder.getMetsFromString;
+import static de.ubleipzig.metadata.producer.doc.MetsManifestBuilder.getOrderLabelForDiv;
+import static de.ubleipzig.metadata.producer.doc.MetsManifestBuilder.getPhysicalDivs;
+
+/**
+ * MetsBenchmark.
+ *
+ * <p>Parsing a METS document and resolving the page lookups the producer makes for every physical div, with
+ * each {@link MetsData} backend.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MetsBenchmark {
+
+    @Param({Fixtures.METS, "500"})
+    public String mets;
+
+    @Param({"xpath", "stax"})
+    public String backend;
+
+    private String xml;
+
+    @Setup
+    public void setup() {
+        xml = Fixtures.mets(mets);
+    }
+
+    @Benchmark
+    public void pages(final Blackhole bh) {
+        final MetsData data = getMetsFromString(xml, backend);
+        for (String div : getPhysicalDivs(data)) {
+            bh.consume(getOrderLabelForDiv(data, div));
+            bh.consume(getFileIdForDiv(data, div));
+        }
+    }
+}
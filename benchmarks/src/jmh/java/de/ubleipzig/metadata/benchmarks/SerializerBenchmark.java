@@ -0,0 +1,72 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ubleipzig.metadata.templates.Manifest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static de.ubleipzig.metadata.processor.JsonSerializer.serialize;
+import static de.ubleipzig.metadata.processor.JsonSerializer.serializeRaw;
+
+/**
+ * SerializerBenchmark.
+ *
+ * <p>Pretty printed against compact serialization of a mapped manifest.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SerializerBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({Fixtures.MANIFEST, "2000x500"})
+    public String manifest;
+
+    private Manifest parsed;
+
+    @Setup
+    public void setup() throws IOException {
+        parsed = MAPPER.readValue(Fixtures.manifest(manifest), Manifest.class);
+    }
+
+    @Benchmark
+    public Optional<String> pretty() {
+        return serialize(parsed);
+    }
+
+    @Benchmark
+    public Optional<String> raw() {
+        return serializeRaw(parsed);
+    }
+}
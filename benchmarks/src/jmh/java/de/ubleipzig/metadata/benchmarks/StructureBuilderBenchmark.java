@@ -0,0 +1,77 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ubleipzig.metadata.extractor.reserializer.StructureBuilderVersion3;
+import de.ubleipzig.metadata.templates.Manifest;
+import de.ubleipzig.metadata.templates.v2.Structure;
+import de.ubleipzig.metadata.templates.v3.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StructureBuilderBenchmark.
+ *
+ * <p>{@link StructureBuilderVersion3#fix()} rewrites the structures in place, so each invocation gets a freshly
+ * mapped copy of them.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StructureBuilderBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({Fixtures.MANIFEST, "200x50", "2000x500", "10000x5000"})
+    public String manifest;
+
+    private String json;
+    private List<Structure> structures;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        json = Fixtures.manifest(manifest);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() throws IOException {
+        structures = MAPPER.readValue(json, Manifest.class).getStructures();
+    }
+
+    @Benchmark
+    public List<Item> build() {
+        final StructureBuilderVersion3 builder = new StructureBuilderVersion3(structures, "0000005815");
+        builder.fix();
+        return builder.build();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.benchmarks;
+
+import de.ubleipzig.metadata.processor.UUIDv5;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * UUIDv5Benchmark.
+ *
+ * <p>Name based UUIDs for 10000 manifest URLs: the per call digest lookup UUIDv5 used to do, its
+ * {@link UUIDv5.Generator} one name at a time, and the parallel bulk API.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class UUIDv5Benchmark {
+
+    private List<String> names;
+    private UUIDv5.Generator generator;
+
+    @Setup
+    public void setup() {
+        names = new ArrayList<>();
+        for (int n = 1; n <= 10000; n++) {
+            names.add(format("https://iiif.ub.uni-leipzig.de/%010d/manifest.json", n));
+        }
+        generator = UUIDv5.generator(UUIDv5.NAMESPACE_URL);
+    }
+
+    @Benchmark
+    public void getInstance(final Blackhole bh) throws NoSuchAlgorithmException {
+        for (String name : names) {
+            final MessageDigest md = MessageDigest.getInstance("SHA-1");
+            final UUID ns = UUIDv5.NAMESPACE_URL;
+            md.update(ByteBuffer.allocate(16).putLong(ns.getMostSignificantBits()).putLong(
+                    ns.getLeastSignificantBits()).array());
+            md.update(name.getBytes(UTF_8));
+            final byte[] sha1 = md.digest();
+            sha1[6] = (byte) ((sha1[6] & 0x0f) | 0x50);
+            sha1[8] = (byte) ((sha1[8] & 0x3f) | 0x80);
+            final ByteBuffer bytes = ByteBuffer.wrap(sha1);
+            bh.consume(new UUID(bytes.getLong(), bytes.getLong()));
+        }
+    }
+
+    @Benchmark
+    public void generator(final Blackhole bh) {
+        for (String name : names) {
+            bh.consume(generator.generate(name));
+        }
+    }
+
+    @Benchmark
+    public List<UUID> generateAll() {
+        return generator.generateAll(names);
+    }
+}
@@ -14,11 +14,13 @@
 
 package de.ubleipzig.metadata.extractor;
 
-import de.ubleipzig.metadata.extractor.disassembler.DimensionManifestBuilder;
-import de.ubleipzig.metadata.extractor.disassembler.Disassembler;
-import de.ubleipzig.metadata.extractor.mapper.MetadataMapper;
+import de.ubleipzig.metadata.extractor.cache.CachedManifest;
+import de.ubleipzig.metadata.extractor.cache.ManifestCache;
 import de.ubleipzig.metadata.extractor.reserializer.Reserializer;
 import de.ubleipzig.metadata.extractor.reserializer.ReserializerVersion3;
+import de.ubleipzig.metadata.processor.AdmissionControl;
+import de.ubleipzig.metadata.processor.JsonSerializer;
+import de.ubleipzig.metadata.processor.RouteExecutors;
 import org.apache.camel.Exchange;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.impl.JndiRegistry;
@@ -31,9 +33,10 @@ import org.slf4j.LoggerFactory;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 import static de.ubleipzig.metadata.processor.ContextUtils.createInitialContext;
-import static de.ubleipzig.metadata.processor.QueryUtils.readFile;
+import static de.ubleipzig.metadata.processor.RouteExecutors.CONTINUATION_TIMEOUT;
 import static java.util.Optional.ofNullable;
 import static org.apache.camel.Exchange.*;
 import static org.apache.camel.LoggingLevel.INFO;
@@ -47,6 +50,12 @@ public class Extractor {
     private static final String MANIFEST_URI = "m";
     private static final String VERSION = "version";
     private static final String contentTypeJsonLd = "application/ld+json";
+    private static final String contentTypeNdJson = "application/x-ndjson";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+    private static final String CACHED_MANIFEST = "CachedManifest";
 
 
     /**
@@ -94,16 +103,23 @@ public class Extractor {
      * QueryRoute.
      */
     public static class QueryRoute extends RouteBuilder {
-
+        private final AdmissionControl admission = AdmissionControl.fromSystemProperties();
+        private final ExtractorService service = new ExtractorService();
 
         /**
          * configure.
          */
         public void configure() {
+            final ExecutorService executor = RouteExecutors.create(getContext(), "extractor");
             from("jetty:http://{{api.host}}:{{api.port}}{{api.prefix}}?"
                     + "optionsEnabled=true&matchOnUriPrefix=true&sendServerVersion=false"
-                    + "&httpMethodRestrict=GET,OPTIONS")
+                    + "&httpMethodRestrict=GET,OPTIONS&continuationTimeout=" + CONTINUATION_TIMEOUT)
                     .routeId("Extractor")
+                    //reject when saturated, then leave the jetty thread for the route executor
+                    .process(admission)
+                    .threads().executorService(executor)
+                    //keep the client's Accept for the response, but do not forward it to the manifest host
+                    .setProperty(HTTP_ACCEPT, header(HTTP_ACCEPT))
                     .removeHeaders(HTTP_ACCEPT)
                     .setHeader(
                     "Access-Control-Allow" + "-Origin")
@@ -120,67 +136,89 @@ public class Extractor {
                         final String req = scheme + "://" + authority + path;
                         e.getIn().setHeader(Exchange.HTTP_URI, req);
                         e.getIn().setHeader(Exchange.HTTP_QUERY, query);
+                        //revalidate a cached manifest instead of fetching it again
+                        e.getIn().removeHeaders(IF_NONE_MATCH);
+                        e.getIn().removeHeaders(IF_MODIFIED_SINCE);
+                        //keep the entry for a 304, it may be evicted before the response arrives
+                        final Optional<CachedManifest> cached = ofNullable(ManifestCache.getInstance().get(m));
+                        cached.ifPresent(c -> e.setProperty(CACHED_MANIFEST, c));
+                        cached.map(CachedManifest::getEtag).ifPresent(t -> e.getIn().setHeader(IF_NONE_MATCH, t));
+                        cached.map(CachedManifest::getLastModified).ifPresent(
+                                t -> e.getIn().setHeader(IF_MODIFIED_SINCE, t));
                     })
                     .setHeader("Accept-Encoding")
                     .constant("gzip")
-                    .to("http4")
+                    .to("http4?throwExceptionOnFailure=false")
+                    .process(e -> {
+                        final String m = e.getIn().getHeader(MANIFEST_URI).toString();
+                        final int status = e.getIn().getHeader(HTTP_RESPONSE_CODE, Integer.class);
+                        e.getIn().removeHeaders(IF_NONE_MATCH);
+                        e.getIn().removeHeaders(IF_MODIFIED_SINCE);
+                        if (status == 304) {
+                            final Optional<CachedManifest> cached = ofNullable(e.getProperty(CACHED_MANIFEST,
+                                    CachedManifest.class));
+                            e.getIn().setBody(cached.orElseThrow(
+                                    () -> new RuntimeException("Unconditional request answered with 304: " + m)));
+                            e.getIn().setHeader(HTTP_RESPONSE_CODE, 200);
+                        } else if (status == 200) {
+                            e.getIn().setBody(ManifestCache.getInstance().put(m, e.getIn().getBody(byte[].class),
+                                    e.getIn().getHeader(ETAG, String.class),
+                                    e.getIn().getHeader(LAST_MODIFIED, String.class)));
+                        } else if (status >= 300) {
+                            throw new RuntimeException("Could not fetch manifest " + m + ": HTTP " + status);
+                        }
+                    })
                     .filter(header(HTTP_RESPONSE_CODE).isEqualTo(200))
                     .setHeader(CONTENT_TYPE)
                     .constant(contentTypeJsonLd)
-                    .convertBodyTo(InputStream.class)
                     .log(INFO, LOGGER, "Fetching Json-LD document")
                     .to("direct:toExchangeProcess");
             from("direct:toExchangeProcess")
                     .choice()
                     .when(header(TYPE).isEqualTo("extract"))
                     .process(e -> {
-                            final Optional<InputStream> is = ofNullable(e.getIn().getBody(InputStream.class));
-                            if (is.isPresent()) {
-                                final InputStream bis = is.get();
-                                final String body = readFile(bis);
-                                final MetadataMapper extractor = new MetadataMapper(body);
-                                e.getIn().setBody(extractor.build());
+                            final Optional<CachedManifest> cm = ofNullable(e.getIn().getBody(CachedManifest.class));
+                            if (cm.isPresent()) {
+                                e.getIn().setBody(service.extract(cm.get()).flatMap(JsonSerializer::serialize)
+                                        .orElse(null));
                             }
                     })
                     .when(header(TYPE).isEqualTo("disassemble"))
                     .process(e -> {
-                        final Optional<InputStream> is = ofNullable(e.getIn().getBody(InputStream.class));
-                        if (is.isPresent()) {
-                            final InputStream bis = is.get();
-                            final String body = readFile(bis);
-                            final Disassembler disassembler = new Disassembler(body);
-                            e.getIn().setBody(disassembler.build());
+                        final Optional<CachedManifest> cm = ofNullable(e.getIn().getBody(CachedManifest.class));
+                        if (cm.isPresent()) {
+                            final boolean ndjson = ofNullable(e.getProperty(HTTP_ACCEPT, String.class)).filter(
+                                    a -> a.contains(contentTypeNdJson)).isPresent();
+                            e.getIn().setHeader(CONTENT_TYPE, ndjson ? contentTypeNdJson : contentTypeJsonLd);
+                            e.getIn().setBody(service.streamAtoms(cm.get(), ndjson));
                         }
                     })
                     .when(header(TYPE).isEqualTo("dimensions"))
                     .process(e -> {
-                            final Optional<InputStream> is = ofNullable(e.getIn().getBody(InputStream.class));
-                            if (is.isPresent()) {
-                                final InputStream bis = is.get();
-                                final String body = readFile(bis);
-                                final DimensionManifestBuilder dimManifestBuilder = new DimensionManifestBuilder(body);
-                                e.getIn().setBody(dimManifestBuilder.build());
+                            final Optional<CachedManifest> cm = ofNullable(e.getIn().getBody(CachedManifest.class));
+                            if (cm.isPresent()) {
+                                e.getIn().setBody(JsonSerializer.serialize(service.dimensions(cm.get()))
+                                        .orElse(null));
                             }
                     })
+                    //the reserializers rewrite the structures they read, so they parse their own copy
                     .when(and(header(TYPE).isEqualTo("reserialize"), header(VERSION).isEqualTo("2")))
                     .process(e -> {
-                        final Optional<InputStream> is = ofNullable(e.getIn().getBody(InputStream.class));
+                        final Optional<CachedManifest> cm = ofNullable(e.getIn().getBody(CachedManifest.class));
                         final String xmldbHost = e.getContext().resolvePropertyPlaceholders("{{xmldb.host}}");
-                            if (is.isPresent()) {
-                                final InputStream bis = is.get();
-                                final String body = readFile(bis);
-                                final Reserializer reserializer = new Reserializer(body, xmldbHost);
+                            if (cm.isPresent()) {
+                                final InputStream bis = cm.get().openStream();
+                                final Reserializer reserializer = new Reserializer(bis, xmldbHost);
                                 e.getIn().setBody(reserializer.build());
                             }
                     })
                     .when(and(header(TYPE).isEqualTo("reserialize"), header(VERSION).isEqualTo("3")))
                     .process(e -> {
-                        final Optional<InputStream> is = ofNullable(e.getIn().getBody(InputStream.class));
+                        final Optional<CachedManifest> cm = ofNullable(e.getIn().getBody(CachedManifest.class));
                         final String xmldbHost = e.getContext().resolvePropertyPlaceholders("{{xmldb.host}}");
-                            if (is.isPresent()) {
-                                final InputStream bis = is.get();
-                                final String body = readFile(bis);
-                                final ReserializerVersion3 reserializer = new ReserializerVersion3(body, xmldbHost);
+                            if (cm.isPresent()) {
+                                final InputStream bis = cm.get().openStream();
+                                final ReserializerVersion3 reserializer = new ReserializerVersion3(bis, xmldbHost);
                                 e.getIn().setBody(reserializer.build());
                             }
                     });
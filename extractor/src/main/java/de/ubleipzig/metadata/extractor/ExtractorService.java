@@ -0,0 +1,156 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.extractor;
+
+import de.ubleipzig.image.metadata.templates.ImageDimensionManifest;
+import de.ubleipzig.metadata.extractor.cache.CachedManifest;
+import de.ubleipzig.metadata.extractor.cache.ManifestCache;
+import de.ubleipzig.metadata.extractor.disassembler.DimensionManifestBuilder;
+import de.ubleipzig.metadata.extractor.disassembler.Disassembler;
+import de.ubleipzig.metadata.extractor.mapper.MetadataMapper;
+import de.ubleipzig.metadata.templates.MetadataMap;
+import de.ubleipzig.metadata.templates.atomic.AtomList;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * ExtractorService.
+ *
+ * <p>The extract, disassemble and dimensions operations of the Extractor API as a Java API, so batch jobs can run
+ * them in process and get typed results. Manifests are fetched through the shared {@link ManifestCache} and
+ * revalidated with a conditional GET, as the Extractor route does, and each operation streams the cached
+ * body.</p>
+ */
+public class ExtractorService {
+
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+    private final HttpClient client;
+    private final ManifestCache cache;
+
+    public ExtractorService() {
+        this(HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).build(),
+                ManifestCache.getInstance());
+    }
+
+    /**
+     * @param client HttpClient
+     * @param cache ManifestCache
+     */
+    public ExtractorService(final HttpClient client, final ManifestCache cache) {
+        this.client = client;
+        this.cache = cache;
+    }
+
+    /**
+     * @param uri the manifest URI
+     * @return the cached or freshly fetched manifest
+     */
+    public CachedManifest fetch(final String uri) {
+        final Optional<CachedManifest> cached = ofNullable(cache.get(uri));
+        final HttpRequest.Builder req = HttpRequest.newBuilder(URI.create(uri)).GET();
+        cached.map(CachedManifest::getEtag).ifPresent(t -> req.header(IF_NONE_MATCH, t));
+        cached.map(CachedManifest::getLastModified).ifPresent(t -> req.header(IF_MODIFIED_SINCE, t));
+        final HttpResponse<byte[]> res;
+        try {
+            res = client.send(req.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new RuntimeException("Could not fetch manifest " + uri + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while fetching manifest " + uri);
+        }
+        final int status = res.statusCode();
+        if (status == 304) {
+            return cached.orElseThrow(() -> new RuntimeException("Cached manifest was evicted: " + uri));
+        } else if (status == 200) {
+            return cache.put(uri, res.body(), res.headers().firstValue(ETAG).orElse(null),
+                    res.headers().firstValue(LAST_MODIFIED).orElse(null));
+        }
+        throw new RuntimeException("Could not fetch manifest " + uri + ": HTTP " + status);
+    }
+
+    /**
+     * @param uri the manifest URI
+     * @return the metadata, empty if the manifest has no thumbnail
+     */
+    public Optional<MetadataMap> extract(final String uri) {
+        return extract(fetch(uri));
+    }
+
+    /**
+     * @param manifest CachedManifest
+     * @return the metadata, empty if the manifest has no thumbnail
+     */
+    public Optional<MetadataMap> extract(final CachedManifest manifest) {
+        return ofNullable(new MetadataMapper(manifest.openStream()).buildMetadataMap()).map(m -> {
+            final MetadataMap metadataMap = new MetadataMap();
+            metadataMap.setMetadataMap(m);
+            return metadataMap;
+        });
+    }
+
+    /**
+     * @param uri the manifest URI
+     * @return AtomList
+     */
+    public AtomList disassemble(final String uri) {
+        return disassemble(fetch(uri));
+    }
+
+    /**
+     * @param manifest CachedManifest
+     * @return AtomList
+     */
+    public AtomList disassemble(final CachedManifest manifest) {
+        return new Disassembler(manifest.openStream()).buildAtomList();
+    }
+
+    /**
+     * @param manifest CachedManifest
+     * @param ndjson boolean
+     * @return the atoms as they are produced, see {@link Disassembler#stream(boolean)}
+     * @throws IOException Exception
+     */
+    public InputStream streamAtoms(final CachedManifest manifest, final boolean ndjson) throws IOException {
+        return new Disassembler(manifest.openStream()).stream(ndjson);
+    }
+
+    /**
+     * @param uri the manifest URI
+     * @return ImageDimensionManifest
+     */
+    public ImageDimensionManifest dimensions(final String uri) {
+        return dimensions(fetch(uri));
+    }
+
+    /**
+     * @param manifest CachedManifest
+     * @return ImageDimensionManifest
+     */
+    public ImageDimensionManifest dimensions(final CachedManifest manifest) {
+        return new DimensionManifestBuilder(manifest.openStream()).buildManifest();
+    }
+}
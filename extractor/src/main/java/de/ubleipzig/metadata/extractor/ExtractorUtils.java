@@ -29,4 +29,20 @@ public final class ExtractorUtils {
         return map.entrySet().stream().filter(entry -> entry.getValue().stream().anyMatch(x -> x.equals(value))).map(
                 Map.Entry::getKey).collect(Collectors.toSet());
     }
+
+    /**
+     * @param serviceId String
+     * @return the service id with the iipsrv path and https scheme fixed
+     */
+    public static String buildServiceId(final String serviceId) {
+        String iiifService = serviceId;
+        //hack to fix service
+        if (iiifService.contains(IIPSRV_DEFAULT)) {
+            iiifService = iiifService.replace(IIPSRV_DEFAULT, "iiif");
+        }
+        if (!iiifService.contains("https")) {
+            iiifService = iiifService.replace("http", "https");
+        }
+        return iiifService;
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.extractor;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * ManifestStreamReader.
+ *
+ * <p>Reads a IIIF Presentation 2 manifest in a single streaming pass. Top level members other than
+ * {@code sequences} are small and are returned as a tree. Canvases are bound one at a time and handed to a
+ * consumer, so the full canvas list is never held in memory, or skipped without being bound at all.</p>
+ */
+public final class ManifestStreamReader {
+
+    private static final String SEQUENCES = "sequences";
+    private static final String CANVASES = "canvases";
+
+    private ManifestStreamReader() {
+    }
+
+    /**
+     * Reads the top level members of a manifest and skips its sequences.
+     *
+     * @param mapper ObjectMapper
+     * @param in InputStream
+     * @return ObjectNode
+     * @throws IOException Exception
+     */
+    public static ObjectNode read(final ObjectMapper mapper, final InputStream in) throws IOException {
+        return readSelectively(mapper, in, Object.class, members -> null);
+    }
+
+    /**
+     * @param mapper ObjectMapper
+     * @param in InputStream
+     * @param canvasType the type each canvas is bound to
+     * @param canvasConsumer Consumer
+     * @param <C> canvas type
+     * @return ObjectNode
+     * @throws IOException Exception
+     */
+    public static <C> ObjectNode read(final ObjectMapper mapper, final InputStream in, final Class<C> canvasType,
+                                      final Consumer<C> canvasConsumer) throws IOException {
+        return readSelectively(mapper, in, canvasType, members -> canvasConsumer);
+    }
+
+    /**
+     * @param mapper ObjectMapper
+     * @param in InputStream
+     * @param canvasType the type each canvas is bound to
+     * @param sequencesHandler given the members read before {@code sequences}, returns the canvas consumer or
+     *                         null to skip the sequences
+     * @param <C> canvas type
+     * @return ObjectNode of all top level members except sequences
+     * @throws IOException Exception
+     */
+    public static <C> ObjectNode readSelectively(final ObjectMapper mapper, final InputStream in,
+                                                 final Class<C> canvasType,
+                                                 final Function<ObjectNode, Consumer<C>> sequencesHandler)
+            throws IOException {
+        return readSelectively(mapper, in, canvasType, sequencesHandler, false);
+    }
+
+    /**
+     * @param mapper ObjectMapper
+     * @param in InputStream
+     * @param canvasType the type each canvas is bound to
+     * @param sequencesHandler given the members read before {@code sequences}, returns the canvas consumer or
+     *                         null to skip the sequences
+     * @param firstSequenceOnly whether the sequences after the first are skipped
+     * @param <C> canvas type
+     * @return ObjectNode of all top level members except sequences
+     * @throws IOException Exception
+     */
+    public static <C> ObjectNode readSelectively(final ObjectMapper mapper, final InputStream in,
+                                                 final Class<C> canvasType,
+                                                 final Function<ObjectNode, Consumer<C>> sequencesHandler,
+                                                 final boolean firstSequenceOnly) throws IOException {
+        final ObjectNode members = mapper.createObjectNode();
+        try (JsonParser parser = mapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Manifest is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+                parser.nextToken();
+                if (SEQUENCES.equals(name)) {
+                    final Consumer<C> canvasConsumer = sequencesHandler.apply(members);
+                    if (canvasConsumer == null || parser.currentToken() != JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                    } else {
+                        readSequences(mapper, parser, canvasType, canvasConsumer, firstSequenceOnly);
+                    }
+                } else {
+                    members.set(name, mapper.readValue(parser, JsonNode.class));
+                }
+            }
+        }
+        return members;
+    }
+
+    private static <C> void readSequences(final ObjectMapper mapper, final JsonParser parser,
+                                          final Class<C> canvasType, final Consumer<C> canvasConsumer,
+                                          final boolean firstSequenceOnly) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+                if (parser.nextToken() == JsonToken.START_ARRAY && CANVASES.equals(name)) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        canvasConsumer.accept(mapper.readValue(parser, canvasType));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (firstSequenceOnly) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    parser.skipChildren();
+                }
+                return;
+            }
+        }
+    }
+}
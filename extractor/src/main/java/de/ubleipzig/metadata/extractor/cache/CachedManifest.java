@@ -0,0 +1,80 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.extractor.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * CachedManifest.
+ *
+ * <p>A fetched manifest body with its HTTP validators. Only the bytes are kept, so each request still streams
+ * the body through {@link de.ubleipzig.metadata.extractor.ManifestStreamReader} rather than holding a mapped
+ * graph with all of its sequences.</p>
+ */
+public final class CachedManifest {
+
+    private final byte[] body;
+    private final String etag;
+    private final String lastModified;
+
+    /**
+     * @param body byte[]
+     * @param etag String, may be null
+     * @param lastModified String, may be null
+     */
+    public CachedManifest(final byte[] body, final String etag, final String lastModified) {
+        this.body = body;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @param etag String, may be null
+     * @param lastModified String, may be null
+     * @return a CachedManifest with the same body and the given validators
+     */
+    CachedManifest withValidators(final String etag, final String lastModified) {
+        return new CachedManifest(body, etag, lastModified);
+    }
+
+    /**
+     * @return InputStream over the manifest body
+     */
+    public InputStream openStream() {
+        return new ByteArrayInputStream(body);
+    }
+
+    /**
+     * @return byte[]
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * @return String
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * @return String
+     */
+    public String getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.extractor.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ManifestCache.
+ *
+ * <p>Process wide cache of fetched manifests keyed by manifest URI. Entries carry the {@code ETag} and
+ * {@code Last-Modified} validators of the response so the route can revalidate them with a conditional GET
+ * (see {@link CachedManifest}).</p>
+ *
+ * <p>System properties: {@code manifest.cache.maxBytes} bounds the summed size of the cached bodies
+ * (default 67108864) and {@code manifest.cache.ttl} evicts entries not accessed for that many seconds
+ * (default 3600).</p>
+ */
+public final class ManifestCache {
+
+    private static final ManifestCache INSTANCE = new ManifestCache(
+            Long.getLong("manifest.cache.maxBytes", 64L << 20), Long.getLong("manifest.cache.ttl", 3600L));
+
+    private final Cache<String, CachedManifest> cache;
+
+    /**
+     * @param maxBytes long
+     * @param ttlSeconds long
+     */
+    public ManifestCache(final long maxBytes, final long ttlSeconds) {
+        this.cache = CacheBuilder.newBuilder().maximumWeight(maxBytes)
+                .weigher((String k, CachedManifest v) -> v.getBody().length)
+                .expireAfterAccess(ttlSeconds, TimeUnit.SECONDS).recordStats().build();
+    }
+
+    /**
+     * @return the shared ManifestCache
+     */
+    public static ManifestCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param uri String
+     * @return CachedManifest or null
+     */
+    public CachedManifest get(final String uri) {
+        return cache.getIfPresent(uri);
+    }
+
+    /**
+     * Stores a freshly fetched body. If it is byte for byte the cached body, the cached body is kept with the
+     * new validators.
+     *
+     * @param uri String
+     * @param body byte[]
+     * @param etag String, may be null
+     * @param lastModified String, may be null
+     * @return the CachedManifest now held for the uri
+     */
+    public CachedManifest put(final String uri, final byte[] body, final String etag, final String lastModified) {
+        final CachedManifest cached = cache.asMap().get(uri);
+        final CachedManifest manifest;
+        if (cached != null && Arrays.equals(cached.getBody(), body)) {
+            manifest = cached.withValidators(etag, lastModified);
+        } else {
+            manifest = new CachedManifest(body, etag, lastModified);
+        }
+        cache.put(uri, manifest);
+        return manifest;
+    }
+
+    /**
+     * @return number of lookups that found an entry
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    /**
+     * @return number of lookups that found no entry
+     */
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    @Override
+    public String toString() {
+        return "ManifestCache{hits=" + getHitCount() + ", misses=" + getMissCount() + ", size=" + cache.size()
+                + ", evictions=" + cache.stats().evictionCount() + "}";
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.extractor.dimensions;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import de.ubleipzig.metadata.templates.ImageServiceResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * ImageDimensionCache.
+ *
+ * <p>Process wide cache of image dimensions keyed by image service IRI. Entries are held in memory with size
+ * and TTL eviction and, when {@code dimensions.cache.file} is set, in a memory-mapped {@link ImageDimensionStore}
+ * that survives restarts.</p>
+ *
+ * <p>System properties: {@code dimensions.cache.size} (default 100000 entries), {@code dimensions.cache.ttl}
+ * in seconds (default 86400, applies to both tiers), {@code dimensions.cache.file} and
+ * {@code dimensions.cache.fileSlots} (default 4194304).</p>
+ */
+@Slf4j
+public final class ImageDimensionCache {
+
+    private static final ImageDimensionCache INSTANCE = new ImageDimensionCache(
+            Long.getLong("dimensions.cache.size", 100000L), Long.getLong("dimensions.cache.ttl", 86400L),
+            buildStore(System.getProperty("dimensions.cache.file"),
+                    Integer.getInteger("dimensions.cache.fileSlots", 1 << 22)));
+
+    private final Cache<String, ImageServiceResponse> cache;
+    private final ImageDimensionStore store;
+    private final long ttlMillis;
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maximumSize long
+     * @param ttlSeconds long
+     * @param store ImageDimensionStore, may be null
+     */
+    public ImageDimensionCache(final long maximumSize, final long ttlSeconds, final ImageDimensionStore store) {
+        this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttlSeconds,
+                TimeUnit.SECONDS).recordStats().build();
+        this.store = store;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+    }
+
+    /**
+     * @return the shared ImageDimensionCache
+     */
+    public static ImageDimensionCache getInstance() {
+        return INSTANCE;
+    }
+
+    private static ImageDimensionStore buildStore(final String file, final int slots) {
+        if (file == null) {
+            return null;
+        }
+        try {
+            return new ImageDimensionStore(Paths.get(file), slots);
+        } catch (IOException e) {
+            log.error("Could not open dimension store {}, using memory only: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Gets the dimensions for a service, calling the loader only if neither tier holds a fresh entry.
+     * Failed loads (null) are not cached.
+     *
+     * @param serviceId String
+     * @param loader Function
+     * @return ImageServiceResponse or null
+     */
+    public ImageServiceResponse get(final String serviceId, final Function<String, ImageServiceResponse> loader) {
+        final ImageServiceResponse cached = cache.getIfPresent(serviceId);
+        if (cached != null) {
+            return cached;
+        }
+        if (store != null) {
+            final Optional<ImageServiceResponse> stored = store.get(serviceId, System.currentTimeMillis() - ttlMillis);
+            if (stored.isPresent()) {
+                diskHits.increment();
+                cache.put(serviceId, stored.get());
+                return stored.get();
+            }
+        }
+        misses.increment();
+        final Optional<ImageServiceResponse> loaded = ofNullable(loader.apply(serviceId));
+        loaded.ifPresent(ir -> {
+            cache.put(serviceId, ir);
+            if (store != null) {
+                store.put(serviceId, ir);
+            }
+        });
+        return loaded.orElse(null);
+    }
+
+    /**
+     * @return number of lookups answered from memory
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    /**
+     * @return number of lookups answered from the disk tier
+     */
+    public long getDiskHitCount() {
+        return diskHits.sum();
+    }
+
+    /**
+     * @return number of lookups that went to the image service
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ImageDimensionCache{hits=" + getHitCount() + ", diskHits=" + getDiskHitCount() + ", misses="
+                + getMissCount() + ", size=" + cache.size() + ", evictions=" + cache.stats().evictionCount() + "}";
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.extractor.dimensions;
+
+import de.ubleipzig.metadata.processor.PrefetchIterator;
+import de.ubleipzig.metadata.templates.ImageServiceResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import static de.ubleipzig.metadata.extractor.disassembler.DimensionManifestBuilder.mapServiceResponse;
+
+/**
+ * ImageDimensionFetcher.
+ *
+ * <p>Resolves image dimensions from IIIF Image API {@code info.json} documents concurrently. The number of
+ * requests in flight is bounded per fetcher and, process wide, per image service host. Responses are shared
+ * through the {@link ImageDimensionCache}. A failed request is logged and yields {@code null} so that a single
+ * broken image does not abort the manifest.</p>
+ *
+ * <p>Limits are read from the system properties {@code dimensions.fetch.concurrency} (default 32),
+ * {@code dimensions.fetch.hostConcurrency} (default 8) and {@code dimensions.fetch.timeout} in milliseconds
+ * (default 10000).</p>
+ */
+@Slf4j
+public class ImageDimensionFetcher {
+
+    private static final int HOST_CONCURRENCY = Integer.getInteger("dimensions.fetch.hostConcurrency", 8);
+    private static final int TIMEOUT = Integer.getInteger("dimensions.fetch.timeout", 10000);
+    private static final Map<String, Semaphore> HOST_PERMITS = new ConcurrentHashMap<>();
+    private final int concurrency;
+
+    public ImageDimensionFetcher() {
+        this(Integer.getInteger("dimensions.fetch.concurrency", 32));
+    }
+
+    /**
+     * @param concurrency int
+     */
+    public ImageDimensionFetcher(final int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * @param serviceIds List
+     * @return List of responses in the order of serviceIds, with null for failed requests
+     */
+    public List<ImageServiceResponse> fetchAll(final List<String> serviceIds) {
+        final List<ImageServiceResponse> responses = new ArrayList<>(serviceIds.size());
+        try (PrefetchIterator<String, ImageServiceResponse> it = new PrefetchIterator<>(
+                serviceIds.iterator(), this::fetch, concurrency)) {
+            it.forEachRemaining(responses::add);
+        }
+        return responses;
+    }
+
+    /**
+     * @param serviceId String
+     * @return ImageServiceResponse or null if the service could not be read
+     */
+    public ImageServiceResponse fetch(final String serviceId) {
+        return ImageDimensionCache.getInstance().get(serviceId, ImageDimensionFetcher::load);
+    }
+
+    private static ImageServiceResponse load(final String serviceId) {
+        Semaphore permits = null;
+        try {
+            final URI info = new URI(serviceId + "/info.json");
+            final Semaphore hostPermits = HOST_PERMITS.computeIfAbsent(info.getHost(),
+                    h -> new Semaphore(HOST_CONCURRENCY));
+            hostPermits.acquire();
+            permits = hostPermits;
+            final URLConnection conn = info.toURL().openConnection();
+            conn.setConnectTimeout(TIMEOUT);
+            conn.setReadTimeout(TIMEOUT);
+            try (InputStream is = conn.getInputStream()) {
+                return mapServiceResponse(is);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            log.error("Could not get dimensions from {}: {}", serviceId, e.getMessage());
+            return null;
+        } finally {
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+}
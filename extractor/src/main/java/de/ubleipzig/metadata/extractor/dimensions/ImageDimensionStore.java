@@ -0,0 +1,146 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.extractor.dimensions;
+
+import de.ubleipzig.metadata.templates.ImageServiceResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * ImageDimensionStore.
+ *
+ * <p>A fixed size, memory-mapped hash table of image dimensions. Keys are the MD5 of the service IRI, and each
+ * slot holds the key, width, height and write time. Collisions are resolved by linear probing over
+ * {@value #MAX_PROBE} slots, and when all of them are taken the oldest entry is overwritten, so the file never
+ * grows beyond its initial size.</p>
+ */
+public final class ImageDimensionStore {
+
+    private static final long MAGIC = 0x44494d53544f5245L;
+    private static final int HEADER_SIZE = 32;
+    private static final int SLOT_SIZE = 32;
+    private static final int MAX_PROBE = 16;
+    private static final int MAX_SLOTS = (Integer.MAX_VALUE - HEADER_SIZE) / SLOT_SIZE;
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    });
+
+    private final MappedByteBuffer buffer;
+    private final int slots;
+
+    /**
+     * @param file Path
+     * @param slots number of slots for a new file, an existing file keeps its own size
+     * @throws IOException Exception
+     */
+    public ImageDimensionStore(final Path file, final int slots) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE)) {
+            int size = Math.min(Math.max(slots, MAX_PROBE), MAX_SLOTS);
+            if (channel.size() >= HEADER_SIZE) {
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                channel.read(header, 0);
+                if (header.getLong(0) != MAGIC) {
+                    throw new IOException(file + " is not a dimension store");
+                }
+                size = header.getInt(8);
+            }
+            this.slots = size;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) size * SLOT_SIZE);
+            buffer.putLong(0, MAGIC);
+            buffer.putInt(8, size);
+        }
+    }
+
+    /**
+     * @param serviceId String
+     * @param notBefore entries written before this time (epoch millis) are ignored
+     * @return ImageServiceResponse
+     */
+    public synchronized Optional<ImageServiceResponse> get(final String serviceId, final long notBefore) {
+        final long[] key = key(serviceId);
+        for (int i = 0; i < MAX_PROBE; i++) {
+            final int offset = offset(key, i);
+            final long written = buffer.getLong(offset + 24);
+            if (written == 0) {
+                return Optional.empty();
+            }
+            if (buffer.getLong(offset) == key[0] && buffer.getLong(offset + 8) == key[1]) {
+                if (written < notBefore) {
+                    return Optional.empty();
+                }
+                final ImageServiceResponse ir = new ImageServiceResponse();
+                ir.setWidth(buffer.getInt(offset + 16));
+                ir.setHeight(buffer.getInt(offset + 20));
+                return Optional.of(ir);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param serviceId String
+     * @param ir ImageServiceResponse
+     */
+    public synchronized void put(final String serviceId, final ImageServiceResponse ir) {
+        if (ir.getWidth() == null || ir.getHeight() == null) {
+            return;
+        }
+        final long[] key = key(serviceId);
+        int target = -1;
+        long oldest = Long.MAX_VALUE;
+        for (int i = 0; i < MAX_PROBE; i++) {
+            final int offset = offset(key, i);
+            final long written = buffer.getLong(offset + 24);
+            if (written == 0 || (buffer.getLong(offset) == key[0] && buffer.getLong(offset + 8) == key[1])) {
+                target = offset;
+                break;
+            }
+            if (written < oldest) {
+                oldest = written;
+                target = offset;
+            }
+        }
+        buffer.putLong(target, key[0]);
+        buffer.putLong(target + 8, key[1]);
+        buffer.putInt(target + 16, ir.getWidth());
+        buffer.putInt(target + 20, ir.getHeight());
+        buffer.putLong(target + 24, System.currentTimeMillis());
+    }
+
+    private int offset(final long[] key, final int probe) {
+        return HEADER_SIZE + (int) Math.floorMod(key[0] + probe, (long) slots) * SLOT_SIZE;
+    }
+
+    private static long[] key(final String serviceId) {
+        final ByteBuffer digest = ByteBuffer.wrap(MD5.get().digest(serviceId.getBytes(UTF_8)));
+        return new long[]{digest.getLong(), digest.getLong()};
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.extractor.disassembler;
+
+import de.ubleipzig.metadata.templates.v2.Structure;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * CanvasStructureIndex.
+ *
+ * <p>An inverted index from canvas id to the structures that contain it, built in one pass over the
+ * structures. Structures are held as their positions in the manifest, so a lookup returns them in manifest
+ * order and each canvas costs one small int array.</p>
+ */
+public final class CanvasStructureIndex {
+
+    private static final int[] NONE = new int[0];
+    private final List<Structure> structures;
+    private final Map<String, int[]> index;
+
+    /**
+     * @param structures List
+     */
+    public CanvasStructureIndex(final List<Structure> structures) {
+        this.structures = structures;
+        final Map<String, Positions> positions = new HashMap<>();
+        for (int n = 0; n < structures.size(); n++) {
+            final Optional<List<String>> canvases = ofNullable(structures.get(n).getCanvases());
+            if (canvases.isPresent()) {
+                for (String canvas : canvases.get()) {
+                    positions.computeIfAbsent(canvas, c -> new Positions()).add(n);
+                }
+            }
+        }
+        this.index = new HashMap<>((int) (positions.size() / 0.75f) + 1);
+        positions.forEach((canvas, p) -> index.put(canvas, p.toArray()));
+    }
+
+    /**
+     * @param canvasId String
+     * @return the positions of the structures that contain the canvas, in manifest order
+     */
+    public int[] get(final String canvasId) {
+        return index.getOrDefault(canvasId, NONE);
+    }
+
+    /**
+     * @param position int
+     * @return Structure
+     */
+    public Structure getStructure(final int position) {
+        return structures.get(position);
+    }
+
+    /**
+     * Growable list of structure positions that ignores a repeat of the last position, so a canvas listed twice
+     * by one structure is indexed once.
+     */
+    private static final class Positions {
+        private int[] values = new int[2];
+        private int size;
+
+        void add(final int position) {
+            if (size > 0 && values[size - 1] == position) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -16,32 +16,44 @@ package de.ubleipzig.metadata.extractor.disassembler;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.ubleipzig.image.metadata.templates.ImageDimensionManifest;
 import de.ubleipzig.image.metadata.templates.ImageDimensions;
+import de.ubleipzig.metadata.extractor.dimensions.ImageDimensionFetcher;
+import de.ubleipzig.metadata.templates.Canvases;
 import de.ubleipzig.metadata.templates.ImageServiceResponse;
-import de.ubleipzig.metadata.templates.Manifest;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static de.ubleipzig.metadata.extractor.ExtractorUtils.IIPSRV_DEFAULT;
+import static de.ubleipzig.metadata.extractor.ManifestStreamReader.read;
 import static de.ubleipzig.metadata.processor.JsonSerializer.serialize;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Optional.ofNullable;
 
 @Slf4j
 public class DimensionManifestBuilder {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
-    private final String body;
+    private final InputStream body;
 
     public DimensionManifestBuilder(final String body) {
+        this(new ByteArrayInputStream(body.getBytes(UTF_8)));
+    }
+
+    public DimensionManifestBuilder(final InputStream body) {
         this.body = body;
     }
 
@@ -59,47 +71,48 @@ public class DimensionManifestBuilder {
     }
 
     public String build() {
+        final Optional<String> json = serialize(buildManifest());
+        return json.orElse(null);
+    }
+
+    /**
+     * @return ImageDimensionManifest
+     */
+    public ImageDimensionManifest buildManifest() {
         try {
-            final Manifest manifest = MAPPER.readValue(body, new TypeReference<Manifest>() {
-            });
+            final List<String> serviceIds = new ArrayList<>();
+            final Consumer<Canvases> canvasConsumer = c -> {
+                c.getImages().forEach(i -> {
+                    String iiifService = i.getResource().getService().getId();
+                    //hack to fix service
+                    if (iiifService.contains(IIPSRV_DEFAULT)) {
+                        iiifService = iiifService.replace(IIPSRV_DEFAULT, "iiif");
+                    }
+                    serviceIds.add(iiifService);
+                });
+            };
+            final ObjectNode members = read(MAPPER, body, Canvases.class, canvasConsumer);
             final ImageDimensionManifest dimManifest = new ImageDimensionManifest();
-            dimManifest.setCollection(manifest.getId());
+            dimManifest.setCollection(members.path("@id").textValue());
             final List<ImageDimensions> dimList = new ArrayList<>();
 
-            manifest.getSequences().forEach(sq -> {
-                sq.getCanvases().forEach(c -> {
-                    final ImageDimensions dims = new ImageDimensions();
-                    c.getImages().forEach(i -> {
-                        String iiifService = i.getResource().getService().getId();
-                        //hack to fix service
-                        if (iiifService.contains(IIPSRV_DEFAULT)) {
-                            iiifService = iiifService.replace(IIPSRV_DEFAULT, "iiif");
-                        }
-                        //getDimensionsFromImageService
-                        InputStream is = null;
-                        try {
-                            final URL service = new URI(iiifService).toURL();
-                            final String path = service.getPath();
-                            final String filename = FilenameUtils.getName(path);
-                            dims.setFilename(filename);
-                            is = new URI(iiifService + "/info.json").toURL().openStream();
-                        } catch (IOException ex) {
-                            log.error(ex.getMessage());
-                        } catch (URISyntaxException e) {
-                            throw new RuntimeException(e);
-                        }
-                        final ImageServiceResponse ir = mapServiceResponse(is);
-                        final Integer height = ir.getHeight();
-                        final Integer width = ir.getWidth();
-                        dims.setHeight(height);
-                        dims.setWidth(width);
-                        dimList.add(dims);
-                    });
-                });
-            });
+            //getDimensionsFromImageService
+            final List<ImageServiceResponse> responses = new ImageDimensionFetcher().fetchAll(serviceIds);
+            for (int n = 0; n < serviceIds.size(); n++) {
+                final ImageDimensions dims = new ImageDimensions();
+                try {
+                    final URL service = new URI(serviceIds.get(n)).toURL();
+                    dims.setFilename(FilenameUtils.getName(service.getPath()));
+                } catch (MalformedURLException | URISyntaxException e) {
+                    throw new RuntimeException(e);
+                }
+                final Optional<ImageServiceResponse> ir = ofNullable(responses.get(n));
+                dims.setHeight(ir.map(ImageServiceResponse::getHeight).orElse(null));
+                dims.setWidth(ir.map(ImageServiceResponse::getWidth).orElse(null));
+                dimList.add(dims);
+            }
             dimManifest.setImageMetadata(dimList);
-            final Optional<String> json = serialize(dimManifest);
-            return json.orElse(null);
+            return dimManifest;
         } catch (IOException ex) {
             throw new RuntimeException("Could not Disassemble Manifest", ex.getCause());
         }
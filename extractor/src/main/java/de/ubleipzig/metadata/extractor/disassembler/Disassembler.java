@@ -14,123 +14,197 @@
 
 package de.ubleipzig.metadata.extractor.disassembler;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.ubleipzig.metadata.processor.JsonSerializer;
+import de.ubleipzig.metadata.processor.PipedStreams;
+import de.ubleipzig.metadata.templates.Canvases;
 import de.ubleipzig.metadata.templates.Manifest;
 import de.ubleipzig.metadata.templates.Metadata;
 import de.ubleipzig.metadata.templates.atomic.AnnotationBodyAtom;
 import de.ubleipzig.metadata.templates.atomic.AtomList;
+import de.ubleipzig.metadata.templates.atomic.OverlayMap;
 import de.ubleipzig.metadata.templates.v2.Structure;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static de.ubleipzig.metadata.extractor.ExtractorUtils.IIPSRV_DEFAULT;
-import static de.ubleipzig.metadata.extractor.ExtractorUtils.getKeysByValue;
+import static de.ubleipzig.metadata.extractor.ManifestStreamReader.read;
 import static de.ubleipzig.metadata.processor.JsonSerializer.serialize;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Optional.ofNullable;
 
 public class Disassembler {
-    private static final Logger LOGGER = LoggerFactory.getLogger(Disassembler.class);
     private static final ObjectMapper MAPPER = new ObjectMapper();
-    private String body;
+    private final InputStream body;
 
     public Disassembler(final String body) {
+        this(new ByteArrayInputStream(body.getBytes(UTF_8)));
+    }
+
+    public Disassembler(final InputStream body) {
         this.body = body;
     }
 
     public String build() {
+        final Optional<String> json = serialize(buildAtomList());
+        return json.orElse(null);
+    }
+
+    /**
+     * @return AtomList
+     */
+    public AtomList buildAtomList() {
         try {
-            final Manifest manifest = MAPPER.readValue(body, new TypeReference<Manifest>() {
-            });
-            final Optional<List<Metadata>> metadata = ofNullable(manifest.getMetadata());
-            final Map<String, Object> metadataMap = new HashMap<>();
-
-            //set title in metadata
-            String title = manifest.getLabel();
-            metadataMap.put("Title", title);
-
-            // set manifest Id in metadata
-            String manifestId = manifest.getId();
-            metadataMap.put("manifest", manifestId);
-
-            // set license in metadata
-            Optional<String> license = ofNullable(manifest.getLicense());
-            license.ifPresent(s -> metadataMap.put("license", s));
-
-            // set attribution in metadata
-            String attribution = manifest.getAttribution();
-            metadataMap.put("attribution", attribution);
-
-            metadata.ifPresent(md -> md.forEach(m -> {
-                final Optional<?> label = ofNullable(m.getLabel());
-                final Optional<String> l = label.filter(String.class::isInstance).map(String.class::cast);
-                final Optional<?> value = ofNullable(m.getValue());
-                final Optional<String> v = value.filter(String.class::isInstance).map(String.class::cast);
-                if (l.isPresent() && v.isPresent()) {
-                    metadataMap.put(l.get(), v.get());
-                }
-            }));
-
-            //build structures objects
-            final Optional<List<Structure>> structures = ofNullable(manifest.getStructures());
-            final Map<String, List<String>> structureMap = new HashMap<>();
-            final Map<String, String> structureLabelMap = new HashMap<>();
-            structures.ifPresent(st -> st.forEach(s -> {
-                structureLabelMap.put(s.getId(), (String) s.getLabel());
-                Optional<List<String>> canvases = ofNullable(s.getCanvases());
-                canvases.ifPresent(strings -> {
-                    structureMap.put(s.getId(), strings);
-                });
-            }));
-
-            final AtomicInteger ai = new AtomicInteger(1);
             final List<AnnotationBodyAtom> abaList = new ArrayList<>();
-
-            manifest.getSequences().forEach(sq -> {
-                sq.getCanvases().forEach(c -> {
-                    final AnnotationBodyAtom aba = new AnnotationBodyAtom();
-                    final Integer imageIndex = ai.getAndIncrement();
-                    final Optional<Set<String>> structureSet = ofNullable(getKeysByValue(structureMap, c.getId()));
-                    final Map<Integer, Structure> sMap = new HashMap<>();
-                    final AtomicInteger ai2 = new AtomicInteger(1);
-                    structureSet.ifPresent(structs -> structs.forEach(ss -> {
-                        final Structure structure = new Structure();
-                        structure.setLabel(structureLabelMap.get(ss));
-                        structure.setId(ss);
-                        sMap.put(ai2.getAndIncrement(), structure);
-                    }));
-                    c.getImages().forEach(i -> {
-                        String thumbnail = i.getResource().getService().getId();
-                        //hack to fix service
-                        if (thumbnail.contains(IIPSRV_DEFAULT)) {
-                            thumbnail = thumbnail.replace(IIPSRV_DEFAULT, "iiif");
-                        }
-                        if (!thumbnail.contains("https")) {
-                            thumbnail = thumbnail.replace("http", "https");
-                        }
-                        Map<String, Object> mapCopy = metadataMap.entrySet().stream()
-                                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-                        mapCopy.put("thumbnail", thumbnail);
-                        mapCopy.put("imageIndex", String.valueOf(imageIndex));
-                        if (!sMap.isEmpty()) {
-                            mapCopy.put("structureMap", sMap);
-                        }
-                        aba.setMetadata(mapCopy);
-                        abaList.add(aba);
-                    });
-                });
-            });
+            forEachAtom(abaList::add);
             final AtomList atomList = new AtomList();
             atomList.setAtomList(abaList);
-            final Optional<String> json = serialize(atomList);
-            return json.orElse(null);
+            return atomList;
         } catch (IOException ex) {
             throw new RuntimeException("Could not Disassemble Manifest", ex.getCause());
         }
     }
+
+    /**
+     * Writes the atoms as they are produced, either as the same document {@link #build()} returns or as NDJSON
+     * with one atom per line. The output is flushed after each atom.
+     *
+     * @param out OutputStream, which is not closed
+     * @param ndjson boolean
+     * @throws IOException IOException
+     */
+    public void write(final OutputStream out, final boolean ndjson) throws IOException {
+        try (JsonGenerator gen = JsonSerializer.MAPPER.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            if (ndjson) {
+                gen.setRootValueSeparator(new SerializedString("\n"));
+            } else {
+                gen.useDefaultPrettyPrinter();
+                gen.writeStartObject();
+                gen.writeFieldName("atomList");
+                gen.writeStartArray();
+            }
+            forEachAtom(aba -> {
+                try {
+                    gen.writeObject(aba);
+                    gen.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (ndjson) {
+                gen.writeRaw('\n');
+            } else {
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Streams {@link #write(OutputStream, boolean)} from a virtual thread, so a response can start before the
+     * manifest is disassembled. If disassembling fails, reading the stream fails rather than ending early.
+     *
+     * @param ndjson boolean
+     * @return InputStream
+     * @throws IOException IOException
+     */
+    public InputStream stream(final boolean ndjson) throws IOException {
+        return PipedStreams.stream("disassembler", out -> write(out, ndjson));
+    }
+
+    private void forEachAtom(final Consumer<AnnotationBodyAtom> atoms) throws IOException {
+        //stream the canvases, keeping only their ids and image services
+        final List<Map.Entry<String, List<String>>> canvasImages = new ArrayList<>();
+        final Consumer<Canvases> canvasConsumer = c -> {
+            final List<String> services = c.getImages().stream().map(
+                    i -> i.getResource().getService().getId()).collect(Collectors.toList());
+            canvasImages.add(new AbstractMap.SimpleImmutableEntry<>(c.getId(), services));
+        };
+        final ObjectNode members = read(MAPPER, body, Canvases.class, canvasConsumer);
+        final Manifest manifest = MAPPER.treeToValue(members, Manifest.class);
+        final Optional<List<Metadata>> metadata = ofNullable(manifest.getMetadata());
+        final Map<String, Object> metadataMap = new LinkedHashMap<>();
+
+        //set title in metadata
+        String title = manifest.getLabel();
+        metadataMap.put("Title", title);
+
+        // set manifest Id in metadata
+        String manifestId = manifest.getId();
+        metadataMap.put("manifest", manifestId);
+
+        // set license in metadata
+        Optional<String> license = ofNullable(manifest.getLicense());
+        license.ifPresent(s -> metadataMap.put("license", s));
+
+        // set attribution in metadata
+        String attribution = manifest.getAttribution();
+        metadataMap.put("attribution", attribution);
+
+        metadata.ifPresent(md -> md.forEach(m -> {
+            final Optional<?> label = ofNullable(m.getLabel());
+            final Optional<String> l = label.filter(String.class::isInstance).map(String.class::cast);
+            final Optional<?> value = ofNullable(m.getValue());
+            final Optional<String> v = value.filter(String.class::isInstance).map(String.class::cast);
+            if (l.isPresent() && v.isPresent()) {
+                metadataMap.put(l.get(), v.get());
+            }
+        }));
+
+        //share the manifest metadata between all atoms, leaving out absent values
+        metadataMap.values().removeIf(Objects::isNull);
+        final Map<String, Object> baseMetadata = Collections.unmodifiableMap(metadataMap);
+
+        //index the structures of each canvas
+        final CanvasStructureIndex structureIndex = new CanvasStructureIndex(
+                ofNullable(manifest.getStructures()).orElse(Collections.emptyList()));
+
+        final AtomicInteger ai = new AtomicInteger(1);
+
+        canvasImages.forEach(c -> {
+            final Integer imageIndex = ai.getAndIncrement();
+            final int[] positions = structureIndex.get(c.getKey());
+            final Map<Integer, Structure> sMap = new HashMap<>();
+            for (int n = 0; n < positions.length; n++) {
+                final Structure s = structureIndex.getStructure(positions[n]);
+                final Structure structure = new Structure();
+                structure.setLabel(s.getLabel());
+                structure.setId(s.getId());
+                sMap.put(n + 1, structure);
+            }
+            c.getValue().forEach(service -> {
+                final AnnotationBodyAtom aba = new AnnotationBodyAtom();
+                String thumbnail = service;
+                //hack to fix service
+                if (thumbnail.contains(IIPSRV_DEFAULT)) {
+                    thumbnail = thumbnail.replace(IIPSRV_DEFAULT, "iiif");
+                }
+                if (!thumbnail.contains("https")) {
+                    thumbnail = thumbnail.replace("http", "https");
+                }
+                final Map<String, Object> mapCopy = new OverlayMap(baseMetadata);
+                mapCopy.put("thumbnail", thumbnail);
+                mapCopy.put("imageIndex", String.valueOf(imageIndex));
+                if (!sMap.isEmpty()) {
+                    mapCopy.put("structureMap", sMap);
+                }
+                aba.setMetadata(mapCopy);
+                atoms.accept(aba);
+            });
+        });
+    }
 }
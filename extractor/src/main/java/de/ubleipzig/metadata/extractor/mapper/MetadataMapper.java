@@ -14,21 +14,26 @@
 
 package de.ubleipzig.metadata.extractor.mapper;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
+import de.ubleipzig.metadata.processor.JsonSerializer;
 import de.ubleipzig.metadata.templates.Metadata;
 import de.ubleipzig.metadata.templates.v2.*;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-import static de.ubleipzig.metadata.processor.JsonSerializer.serialize;
+import static de.ubleipzig.metadata.extractor.ManifestStreamReader.readSelectively;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Optional.ofNullable;
 
 @Slf4j
@@ -36,37 +41,40 @@ public class MetadataMapper {
 
     private static final ObjectMapper MAPPER = new ObjectMapper()
             .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-    private final String body;
+    private final InputStream body;
+    private String randomImage;
 
     public MetadataMapper(final String body) {
+        this(new ByteArrayInputStream(body.getBytes(UTF_8)));
+    }
+
+    public MetadataMapper(final InputStream body) {
         this.body = body;
     }
 
-    private String getRandomImageAsThumbnail(final PerfectManifest manifest) {
-        final Optional<List<Sequence>> seq = ofNullable(manifest.getSequences());
-        if (seq.isPresent()) {
-            final List<Canvas> canvases = seq.get().get(0).getCanvases();
-            final int canvasCount = canvases.size();
-            if (canvasCount == 1) {
-                final List<PaintingAnnotation> images = canvases.get(0).getImages();
+    /**
+     * Picks the service of a uniformly random canvas image of the first sequence with reservoir sampling, so the
+     * canvases are streamed past once and never held together.
+     */
+    private Consumer<Canvas> getRandomImageAsThumbnail() {
+        final SplittableRandom random = new SplittableRandom();
+        final int[] canvasCount = {0};
+        return c -> {
+            canvasCount[0]++;
+            if (random.nextInt(0, canvasCount[0]) == 0) {
+                final List<PaintingAnnotation> images = c.getImages();
                 final Body res = images.get(0).getBody();
-                return res.getService().getId();
-            } else if (canvasCount > 1) {
-                int n = new SplittableRandom().nextInt(0, canvasCount);
-                final List<PaintingAnnotation> images = canvases.get(n).getImages();
-                final Body res = images.get(0).getBody();
-                return res.getService().getId();
-            } else {
-                return null;
+                randomImage = res.getService().getId();
             }
-        }
-        return null;
+        };
     }
 
     private PerfectManifest mapManifest() {
         try {
-            return MAPPER.readValue(body, new TypeReference<PerfectManifest>() {
-            });
+            //the first sequence is only read if there is no thumbnail before it
+            final ObjectNode members = readSelectively(MAPPER, body, Canvas.class,
+                    m -> m.hasNonNull("thumbnail") ? null : getRandomImageAsThumbnail(), true);
+            return MAPPER.treeToValue(members, PerfectManifest.class);
         } catch (IOException e) {
             log.error(e.getMessage());
         }
@@ -74,7 +82,16 @@ public class MetadataMapper {
     }
 
     public String build() {
-        PerfectManifest manifest = mapManifest();
+        final Optional<Map<String, Object>> newMap = ofNullable(buildMetadataMap());
+        return newMap.map(m -> MultivalueMetadataMap.builder().metadataMap(m).build()).flatMap(
+                JsonSerializer::serialize).orElse(null);
+    }
+
+    /**
+     * @return the metadata of the manifest, or null if it has no thumbnail
+     */
+    public Map<String, Object> buildMetadataMap() {
+        final PerfectManifest manifest = mapManifest();
 
         Multimap<String, String> metadataMap = ArrayListMultimap.create();
 
@@ -86,7 +103,7 @@ public class MetadataMapper {
         final Optional<Object> thumbnail = ofNullable(manifest.getThumbnail());
         final Optional<String> thumb;
         if (thumbnail.isEmpty()) {
-            thumb = ofNullable(getRandomImageAsThumbnail(manifest));
+            thumb = ofNullable(randomImage);
             thumb.ifPresent(t -> metadataMap.put("thumbnail", t));
             if (thumb.isEmpty()) {
                 return null;
@@ -214,8 +231,6 @@ public class MetadataMapper {
                 newMap.put(key, value);
             }
         });
-        MultivalueMetadataMap map = MultivalueMetadataMap.builder().metadataMap(newMap).build();
-        final Optional<String> json = serialize(map);
-        return json.orElse(null);
+        return newMap;
     }
 }
@@ -18,40 +18,59 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.ubleipzig.iiif.vocabulary.IIIFEnum;
 import de.ubleipzig.iiif.vocabulary.SC;
+import de.ubleipzig.metadata.extractor.dimensions.ImageDimensionFetcher;
+import de.ubleipzig.metadata.processor.IdentifierStrategy;
 import de.ubleipzig.metadata.templates.*;
 import de.ubleipzig.metadata.templates.v2.*;
 import de.ubleipzig.metadata.transformer.MetadataApi;
 import de.ubleipzig.metadata.transformer.MetadataBuilder;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
-import static de.ubleipzig.metadata.extractor.ExtractorUtils.IIPSRV_DEFAULT;
-import static de.ubleipzig.metadata.extractor.disassembler.DimensionManifestBuilder.mapServiceResponse;
+import static de.ubleipzig.metadata.extractor.ExtractorUtils.buildServiceId;
 import static de.ubleipzig.metadata.extractor.reserializer.DomainConstants.*;
 import static de.ubleipzig.metadata.processor.JsonSerializer.serialize;
 import static java.io.File.separator;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Optional.ofNullable;
 
 @Slf4j
 public class Reserializer {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
-    private final String body;
+    private final InputStream body;
     private final String xmldbHost;
+    private final IdentifierStrategy ids;
 
     public Reserializer(final String body, final String xmldbHost) {
+        this(new ByteArrayInputStream(body.getBytes(UTF_8)), xmldbHost);
+    }
+
+    public Reserializer(final InputStream body, final String xmldbHost) {
+        this(body, xmldbHost, IdentifierStrategy.fromSystemProperties());
+    }
+
+    /**
+     * @param body InputStream
+     * @param xmldbHost String
+     * @param ids IdentifierStrategy for the annotation, annotation page and sequence ids
+     */
+    public Reserializer(final InputStream body, final String xmldbHost, final IdentifierStrategy ids) {
         this.body = body;
         this.xmldbHost = xmldbHost;
+        this.ids = ids;
     }
 
     public String build() {
@@ -66,7 +85,18 @@ public class Reserializer {
             final List<Canvas> canvases = new ArrayList<>();
             final String viewId = new URI(manifest.getId()).toURL().getPath().split(separator)[1];
 
+            //fetch image dimensions concurrently, consumed below in canvas order
+            final List<String> serviceIds = manifest.getSequences().stream()
+                    .flatMap(sq -> sq.getCanvases().stream())
+                    .flatMap(c -> c.getImages().stream())
+                    .map(i -> buildServiceId(i.getResource().getService().getId()))
+                    .collect(Collectors.toList());
+            final Iterator<ImageServiceResponse> dimensions = new ImageDimensionFetcher().fetchAll(serviceIds)
+                    .iterator();
+
+            final AtomicInteger sequenceIndex = new AtomicInteger();
             manifest.getSequences().forEach(sq -> {
+                final int sequence = sequenceIndex.getAndIncrement();
                 final AtomicInteger index = new AtomicInteger(1);
                 for (Canvases c : sq.getCanvases()) {
                     Integer height = null;
@@ -74,27 +104,12 @@ public class Reserializer {
                     final Canvas canvas = new Canvas();
                     final Body bodyObj = new Body();
                     for (Images i : c.getImages()) {
-                        String iiifService = i.getResource().getService().getId();
-                        //hack to fix service
-                        if (iiifService.contains(IIPSRV_DEFAULT)) {
-                            iiifService = iiifService.replace(IIPSRV_DEFAULT, "iiif");
-                        }
-                        if (!iiifService.contains("https")) {
-                            iiifService = iiifService.replace("http", "https");
-                        }
+                        final String iiifService = buildServiceId(i.getResource().getService().getId());
 
                         //getDimensionsFromImageService
-                        InputStream is = null;
-                        try {
-                            is = new URI(iiifService + "/info.json").toURL().openStream();
-                        } catch (IOException e) {
-                            log.error(e.getMessage());
-                        } catch (URISyntaxException e) {
-                            throw new RuntimeException(e);
-                        }
-                        final ImageServiceResponse ir = mapServiceResponse(is);
-                        height = ir.getHeight();
-                        width = ir.getWidth();
+                        final Optional<ImageServiceResponse> ir = ofNullable(dimensions.next());
+                        height = ir.map(ImageServiceResponse::getHeight).orElse(null);
+                        width = ir.map(ImageServiceResponse::getWidth).orElse(null);
 
                         //createServiceObject
                         final Service service = new Service();
@@ -119,11 +134,13 @@ public class Reserializer {
                         bodyObj.setLabel(i.getResource().getLabel());
                     }
                     //createAnnotation
+                    final int canvasIndex = index.getAndIncrement();
                     final String canvasId = baseUrl + viewId + separator + targetBase + separator + format(
-                            "%08d", index.getAndIncrement());
+                            "%08d", canvasIndex);
                     final List<PaintingAnnotation> annotations = new ArrayList<>();
                     final PaintingAnnotation anno = new PaintingAnnotation();
-                    final String annoId = baseUrl + viewId + separator + annotationBase + separator + UUID.randomUUID();
+                    final String annoPrefix = baseUrl + viewId + separator + annotationBase;
+                    final String annoId = annoPrefix + separator + ids.create(annoPrefix, sequence, canvasIndex);
                     anno.setId(annoId);
                     anno.setBody(bodyObj);
                     anno.setTarget(canvasId);
@@ -136,7 +153,7 @@ public class Reserializer {
                     canvases.add(canvas);
                 }
             });
-            final List<Sequence> sequences = getSequence(canvases);
+            final List<Sequence> sequences = getSequence(viewId, canvases);
             final PerfectManifest perfectManifest = getManifest(viewId, sequences);
             if (structures.isPresent()) {
                 final List<Structure> structs = structures.get();
@@ -163,9 +180,26 @@ public class Reserializer {
     /**
      * @param graph graph
      * @return List
+     * @deprecated use {@link #getSequence(String, List)}, this sequence id is always random
      */
+    @Deprecated
     public List<Sequence> getSequence(final List<Canvas> graph) {
-        final String id = baseUrl + sequenceBase + separator + UUID.randomUUID();
+        final String prefix = baseUrl + sequenceBase;
+        return buildSequence(prefix + separator + IdentifierStrategy.RANDOM.create(prefix, 0, 0), graph);
+    }
+
+    /**
+     * @param viewId viewId
+     * @param graph graph
+     * @return List
+     */
+    public List<Sequence> getSequence(final String viewId, final List<Canvas> graph) {
+        //the sequence ids are not scoped by viewId, so the name based ones are derived from it
+        final String prefix = baseUrl + sequenceBase;
+        return buildSequence(prefix + separator + ids.create(prefix + separator + viewId, 0, 0), graph);
+    }
+
+    private List<Sequence> buildSequence(final String id, final List<Canvas> graph) {
         final List<Sequence> sequences = new ArrayList<>();
         final Sequence sequence = new Sequence();
         sequence.setId(id);
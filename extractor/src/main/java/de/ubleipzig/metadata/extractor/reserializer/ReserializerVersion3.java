@@ -16,6 +16,8 @@ package de.ubleipzig.metadata.extractor.reserializer;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ubleipzig.metadata.extractor.dimensions.ImageDimensionFetcher;
+import de.ubleipzig.metadata.processor.IdentifierStrategy;
 import de.ubleipzig.metadata.templates.Canvases;
 import de.ubleipzig.metadata.templates.ImageServiceResponse;
 import de.ubleipzig.metadata.templates.Images;
@@ -26,6 +28,7 @@ import de.ubleipzig.metadata.transformer.MetadataApi;
 import de.ubleipzig.metadata.transformer.MetadataBuilderVersion3;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -34,14 +37,14 @@ import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
-import static de.ubleipzig.metadata.extractor.ExtractorUtils.IIPSRV_DEFAULT;
-import static de.ubleipzig.metadata.extractor.disassembler.DimensionManifestBuilder.mapServiceResponse;
+import static de.ubleipzig.metadata.extractor.ExtractorUtils.buildServiceId;
 import static de.ubleipzig.metadata.extractor.reserializer.DomainConstants.*;
 import static de.ubleipzig.metadata.extractor.reserializer.ReserializerUtils.buildLabelMap;
 import static de.ubleipzig.metadata.processor.JsonSerializer.serialize;
 import static java.io.File.separator;
 import static java.io.File.separatorChar;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Optional.ofNullable;
 
 @Slf4j
@@ -49,12 +52,27 @@ public class ReserializerVersion3 {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
     private static final String NONE = "@none";
-    private final String body;
+    private final InputStream body;
     private final String xmldbHost;
+    private final IdentifierStrategy ids;
 
     public ReserializerVersion3(final String body, final String xmldbHost) {
+        this(new ByteArrayInputStream(body.getBytes(UTF_8)), xmldbHost);
+    }
+
+    public ReserializerVersion3(final InputStream body, final String xmldbHost) {
+        this(body, xmldbHost, IdentifierStrategy.fromSystemProperties());
+    }
+
+    /**
+     * @param body InputStream
+     * @param xmldbHost String
+     * @param ids IdentifierStrategy for the annotation and annotation page ids
+     */
+    public ReserializerVersion3(final InputStream body, final String xmldbHost, final IdentifierStrategy ids) {
         this.body = body;
         this.xmldbHost = xmldbHost;
+        this.ids = ids;
     }
 
     public String build() {
@@ -66,7 +84,18 @@ public class ReserializerVersion3 {
             final List<CanvasVersion3> canvases = new ArrayList<>();
             final String viewId = new URI(manifest.getId()).toURL().getPath().split(String.valueOf(separatorChar))[1];
 
+            //fetch image dimensions concurrently, consumed below in canvas order
+            final List<String> serviceIds = manifest.getSequences().stream()
+                    .flatMap(sq -> sq.getCanvases().stream())
+                    .flatMap(c -> c.getImages().stream())
+                    .map(i -> buildServiceId(i.getResource().getService().getId()))
+                    .collect(Collectors.toList());
+            final Iterator<ImageServiceResponse> dimensions = new ImageDimensionFetcher().fetchAll(serviceIds)
+                    .iterator();
+
+            final AtomicInteger sequenceIndex = new AtomicInteger();
             manifest.getSequences().forEach(sq -> {
+                final int sequence = sequenceIndex.getAndIncrement();
                 final AtomicInteger index = new AtomicInteger(1);
                 for (Canvases c : sq.getCanvases()) {
                     Integer height = null;
@@ -74,25 +103,12 @@ public class ReserializerVersion3 {
                     final CanvasVersion3 canvas = new CanvasVersion3();
                     final BodyVersion3 body = new BodyVersion3();
                     for (Images i : c.getImages()) {
-                        String iiifService = i.getResource().getService().getId();
-                        //hack to fix service
-                        if (iiifService.contains(IIPSRV_DEFAULT)) {
-                            iiifService = iiifService.replace(IIPSRV_DEFAULT, "iiif");
-                        }
-                        if (!iiifService.contains("https")) {
-                            iiifService = iiifService.replace("http", "https");
-                        }
+                        final String iiifService = buildServiceId(i.getResource().getService().getId());
 
                         //getDimensionsFromImageService
-                        InputStream is = null;
-                        try {
-                            is = new URI(iiifService + "/info.json").toURL().openStream();
-                        } catch (IOException | URISyntaxException e) {
-                            log.error(e.getMessage());
-                        }
-                        final ImageServiceResponse ir = mapServiceResponse(is);
-                        height = ir.getHeight();
-                        width = ir.getWidth();
+                        final Optional<ImageServiceResponse> ir = ofNullable(dimensions.next());
+                        height = ir.map(ImageServiceResponse::getHeight).orElse(null);
+                        width = ir.map(ImageServiceResponse::getWidth).orElse(null);
 
                         final ServiceVersion3 service = new ServiceVersion3();
                         service.setId(iiifService);
@@ -121,11 +137,13 @@ public class ReserializerVersion3 {
                         body.setLabel(bodyLabelMap);
                     }
                     //createAnnotation
+                    final int canvasIndex = index.getAndIncrement();
                     final String canvasId = baseUrl + viewId + separator + targetBase + separator + format(
-                            "%08d", index.getAndIncrement());
+                            "%08d", canvasIndex);
                     final List<AnnotationVersion3> annotations = new ArrayList<>();
                     final AnnotationVersion3 anno = new AnnotationVersion3();
-                    final String annoId = baseUrl + viewId + separator + annotationBase + separator + UUID.randomUUID();
+                    final String annoPrefix = baseUrl + viewId + separator + annotationBase;
+                    final String annoId = annoPrefix + separator + ids.create(annoPrefix, sequence, canvasIndex);
                     anno.setId(annoId);
                     anno.setType("Annotation");
                     anno.setMotivation("painting");
@@ -136,8 +154,9 @@ public class ReserializerVersion3 {
                     //createAnnotationPage
                     final List<AnnotationPage> annoPages = new ArrayList<>();
                     final AnnotationPage annoPage = new AnnotationPage();
-                    final String annoPageId =
-                            baseUrl + viewId + separator + annotationPageBase + separator + UUID.randomUUID();
+                    final String annoPagePrefix = baseUrl + viewId + separator + annotationPageBase;
+                    final String annoPageId = annoPagePrefix + separator + ids.create(annoPagePrefix, sequence,
+                            canvasIndex);
                     annoPage.setId(annoPageId);
                     annoPage.setType("AnnotationPage");
                     annoPage.setItems(annotations);
@@ -163,8 +182,7 @@ public class ReserializerVersion3 {
             final Optional<List<Structure>> structures = ofNullable(manifest.getStructures());
             if (structures.isPresent()) {
                 final List<Structure> structs = structures.get();
-                final StructureBuilderVersion3 sbuilder = new StructureBuilderVersion3(
-                        structs, viewId, metadataImplVersion3);
+                final StructureBuilderVersion3 sbuilder = new StructureBuilderVersion3(structs, viewId);
                 sbuilder.fix();
                 List<Item> newStructures = sbuilder.build();
                 newManifest.setStructures(newStructures);
@@ -18,11 +18,7 @@ import de.ubleipzig.metadata.templates.v2.Structure;
 import de.ubleipzig.metadata.templates.v3.Item;
 import de.ubleipzig.metadata.templates.v3.MetadataVersion3;
 import de.ubleipzig.metadata.transformer.MetadataApi;
-import lombok.extern.slf4j.Slf4j;
 
-import java.net.MalformedURLException;
-import java.net.URI;
-import java.net.URISyntaxException;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -33,21 +29,28 @@ import static de.ubleipzig.metadata.extractor.reserializer.DomainConstants.struc
 import static de.ubleipzig.metadata.extractor.reserializer.ReserializerUtils.buildLabelMap;
 import static de.ubleipzig.metadata.extractor.reserializer.ReserializerUtils.buildPaddedCanvases;
 import static java.io.File.separator;
-import static java.io.File.separatorChar;
 import static java.util.Optional.ofNullable;
 
-@Slf4j
 public class StructureBuilderVersion3 {
     private final List<Structure> structures;
     private final String viewId;
-    private final MetadataApi<MetadataVersion3> metadataImplVersion3;
     private final Map<String, String> backReferenceMap = new HashMap<>();
 
-    public StructureBuilderVersion3(final List<Structure> structures, final String viewId,
-                                    final MetadataApi<MetadataVersion3> metadataImplVersion3) {
+    public StructureBuilderVersion3(final List<Structure> structures, final String viewId) {
         this.structures = structures;
         this.viewId = viewId;
-        this.metadataImplVersion3 = metadataImplVersion3;
+    }
+
+    /**
+     * @param structures List
+     * @param viewId String
+     * @param metadataImplVersion3 unused, a v3 range has no metadata
+     * @deprecated use {@link #StructureBuilderVersion3(List, String)}
+     */
+    @Deprecated
+    public StructureBuilderVersion3(final List<Structure> structures, final String viewId,
+                                    final MetadataApi<MetadataVersion3> metadataImplVersion3) {
+        this(structures, viewId);
     }
 
     public void fix() {
@@ -65,15 +68,13 @@ public class StructureBuilderVersion3 {
             final String structureId = s.getId();
             if (!structureId.contains("LOG") || !structureId.contains("r0")) {
                 if (ai.get() == 0) {
-                    final String newStructureId = baseUrl + viewId + separator + structureBase + separator + "LOG_0000";
+                    final String newStructureId = structureId(0);
                     backReferenceMap.put(s.getId(), newStructureId);
                     //unset within (fix for early manifests)
                     s.setWithin(null);
                     ai.getAndIncrement();
                 } else {
-                    final String newStructureId =
-                            baseUrl + viewId + separator + structureBase + separator + "LOG_" + String.format(
-                            "%04d", ai.getAndIncrement());
+                    final String newStructureId = structureId(ai.getAndIncrement());
                     backReferenceMap.put(s.getId(), newStructureId);
                     //unset within (fix for early manifests)
                     s.setWithin(null);
@@ -117,60 +118,64 @@ public class StructureBuilderVersion3 {
             final String structId = struct.getId();
             final String newStructId = backReferenceMap.get(structId);
             newStructure.setId(newStructId);
-            final String sId;
-            try {
-                sId = new URI(newStructId).toURL().getPath().split(String.valueOf(separatorChar))[3];
-                //TODO
-                final Optional<List<MetadataVersion3>> structureMetadata = ofNullable(
-                        metadataImplVersion3.buildStructureMetadataForId(sId));
-                //structureMetadata.ifPresent(struct::setMetadata);
-            } catch (MalformedURLException e) {
-                log.error(e.getMessage());
-            } catch (URISyntaxException e) {
-                throw new RuntimeException(e);
-            }
             newStructures.add(newStructure);
         }
-        //finally merge all substructures into top structure
-        final Optional<Item> topStructure = newStructures.stream().filter(
-                s -> s.getId().contains("LOG_0000")).findAny();
+        //finally merge all substructures into the top structure
+        final Map<String, Item> structuresById = new HashMap<>();
+        newStructures.forEach(s -> structuresById.putIfAbsent(s.getId(), s));
+        final Optional<Item> topStructure = ofNullable(structuresById.get(structureId(0)));
         if (topStructure.isPresent()) {
-            final List<Item> topStructureItems = topStructure.get().getItems();
-            topStructureItems.forEach(ti -> {
-                final Optional<Item> item = newStructures.stream().filter(
-                        s -> s.getId().contains(ti.getId())).findAny();
-                if (item.isPresent()) {
-                    final Map<String, List<String>> label = item.get().getLabel();
-                    ti.setLabel(label);
-                    final List<Item> items = item.get().getItems();
-                    final List<Item> ranges = items.stream().filter(t -> t.getType().equals("Range")).collect(
-                            Collectors.toList());
-                    if (ranges.isEmpty()) {
-                        ti.setItems(items);
-                    } else {
-                        final List<Item> subItems = new ArrayList<>();
-                        ranges.forEach(si -> {
-                            final Item subItem = new Item();
-                            final String siId = si.getId();
-                            final Map<String, List<String>> labelMap = si.getLabel();
-                            subItem.setLabel(labelMap);
-                            subItem.setId(siId);
-                            final List<Item> subRange = newStructures.stream().filter(
-                                    i -> i.getId().equals(siId)).collect(Collectors.toList());
-                            final List<Item> subRangeCanvases = subRange.get(0).getItems();
-                            subItem.setItems(subRangeCanvases);
-                            subItems.add(subItem);
-                        });
-                        ti.setItems(subItems);
-                    }
-                }
-            });
-            final List<Item> finalStructure = new ArrayList<>();
             final Item top = topStructure.get();
+            final Map<String, Item> resolved = new HashMap<>();
+            resolved.put(top.getId(), null);
+            top.setItems(resolveItems(top.getItems(), structuresById, resolved));
+            final List<Item> finalStructure = new ArrayList<>();
             top.setType("Range");
             finalStructure.add(top);
             return finalStructure;
         }
         return null;
     }
+
+    /**
+     * Replaces the range references in {@code items} with their ranges, to any depth. Each range is resolved once
+     * and a reference back to a range that is still being resolved stays a reference.
+     *
+     * @param items List
+     * @param structuresById Map
+     * @param resolved Map
+     * @return List
+     */
+    private List<Item> resolveItems(final List<Item> items, final Map<String, Item> structuresById,
+                                    final Map<String, Item> resolved) {
+        final List<Item> resolvedItems = new ArrayList<>(items.size());
+        for (Item item : items) {
+            final String id = item.getId();
+            final Optional<Item> structure = ofNullable(structuresById.get(id)).filter(
+                    s -> "Range".equals(item.getType()));
+            if (!structure.isPresent()) {
+                resolvedItems.add(item);
+            } else if (resolved.containsKey(id)) {
+                resolvedItems.add(ofNullable(resolved.get(id)).orElse(item));
+            } else {
+                resolved.put(id, null);
+                final Item range = new Item();
+                range.setId(id);
+                range.setType("Range");
+                range.setLabel(structure.get().getLabel());
+                //a range with sub ranges lists only those
+                final List<Item> members = structure.get().getItems();
+                final List<Item> ranges = members.stream().filter(t -> t.getType().equals("Range")).collect(
+                        Collectors.toList());
+                range.setItems(resolveItems(ranges.isEmpty() ? members : ranges, structuresById, resolved));
+                resolved.put(id, range);
+                resolvedItems.add(range);
+            }
+        }
+        return resolvedItems;
+    }
+
+    private String structureId(final int n) {
+        return baseUrl + viewId + separator + structureBase + separator + "LOG_" + String.format("%04d", n);
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.extractor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import de.ubleipzig.metadata.extractor.cache.CachedManifest;
+import de.ubleipzig.metadata.extractor.cache.ManifestCache;
+import de.ubleipzig.metadata.extractor.disassembler.Disassembler;
+import de.ubleipzig.metadata.extractor.mapper.MetadataMapper;
+import de.ubleipzig.metadata.processor.JsonSerializer;
+import de.ubleipzig.metadata.templates.MetadataMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ExtractorServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private final List<String> validators = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private String manifest;
+    private ExtractorService service;
+
+    /**
+     * A manifest host that answers a matching If-None-Match with 304.
+     */
+    @BeforeEach
+    void startServer() throws Exception {
+        try (InputStream is = ExtractorServiceTest.class.getResourceAsStream("/test.json")) {
+            manifest = new String(is.readAllBytes(), UTF_8);
+        }
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/manifest", exchange -> {
+            final String etag = exchange.getRequestHeaders().getFirst("If-None-Match");
+            validators.add(String.valueOf(etag));
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            if ("\"v1\"".equals(etag)) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            final byte[] body = manifest.getBytes(UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+        service = new ExtractorService(HttpClient.newHttpClient(), new ManifestCache(64L << 20, 60));
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private String uri(final String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    @Test
+    void testExtractMatchesMetadataMapper() {
+        final MetadataMap metadataMap = service.extract(uri("/manifest")).orElseThrow();
+        final Map<String, Object> expected = new MetadataMapper(manifest).buildMetadataMap();
+        //the update time and the random thumbnail differ between builds
+        for (String key : List.of("lastUpdated", "thumbnail")) {
+            expected.remove(key);
+            assertNotNull(metadataMap.getMetadataMap().remove(key));
+        }
+        assertEquals(expected, metadataMap.getMetadataMap());
+    }
+
+    @Test
+    void testDisassembleMatchesDisassembler() throws Exception {
+        final String atoms = JsonSerializer.serialize(service.disassemble(uri("/manifest"))).orElseThrow();
+        assertEquals(MAPPER.readTree(new Disassembler(manifest).build()), MAPPER.readTree(atoms));
+    }
+
+    @Test
+    void testFetchRevalidatesCachedManifest() {
+        final CachedManifest first = service.fetch(uri("/manifest"));
+        final CachedManifest second = service.fetch(uri("/manifest"));
+        assertSame(first, second);
+        assertEquals(List.of("null", "\"v1\""), validators);
+    }
+
+    @Test
+    void testFetchFailure() {
+        assertThrows(RuntimeException.class, () -> service.fetch(uri("/missing")));
+    }
+}
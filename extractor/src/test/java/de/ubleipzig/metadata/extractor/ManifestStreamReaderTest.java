@@ -0,0 +1,75 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.extractor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.ubleipzig.metadata.templates.Canvases;
+import de.ubleipzig.metadata.templates.Manifest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ManifestStreamReaderTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void testStreamCanvases() throws Exception {
+        final Manifest manifest;
+        try (InputStream is = ManifestStreamReaderTest.class.getResourceAsStream("/test.json")) {
+            manifest = MAPPER.readValue(is, Manifest.class);
+        }
+        final List<String> canvasIds = new ArrayList<>();
+        final ObjectNode members;
+        try (InputStream is = ManifestStreamReaderTest.class.getResourceAsStream("/test.json")) {
+            members = ManifestStreamReader.read(MAPPER, is, Canvases.class, c -> canvasIds.add(c.getId()));
+        }
+        assertFalse(members.has("sequences"));
+        assertEquals(manifest.getId(), members.get("@id").textValue());
+        assertEquals(manifest.getStructures().size(), members.get("structures").size());
+        assertEquals(manifest.getSequences().get(0).getCanvases().size(), canvasIds.size());
+        assertEquals(manifest.getSequences().get(0).getCanvases().get(0).getId(), canvasIds.get(0));
+    }
+
+    @Test
+    void testStreamFirstSequenceOnly() throws Exception {
+        final String json = "{\"sequences\":[{\"canvases\":[{\"@id\":\"c1\"},{\"@id\":\"c2\"}]},"
+                + "{\"canvases\":[{\"@id\":\"c3\"}]}],\"label\":\"After\"}";
+        final List<String> canvasIds = new ArrayList<>();
+        final ObjectNode members = ManifestStreamReader.readSelectively(MAPPER,
+                new ByteArrayInputStream(json.getBytes(UTF_8)), Canvases.class,
+                m -> c -> canvasIds.add(c.getId()), true);
+        assertEquals(List.of("c1", "c2"), canvasIds);
+        assertEquals("After", members.get("label").textValue());
+    }
+
+    @Test
+    void testSkipSequences() throws Exception {
+        try (InputStream is = ManifestStreamReaderTest.class.getResourceAsStream("/test.json")) {
+            final Manifest manifest = MAPPER.treeToValue(ManifestStreamReader.read(MAPPER, is), Manifest.class);
+            assertNull(manifest.getSequences());
+            assertEquals("Leipzig, Universitätsbibliothek Leipzig, Ms 1091", manifest.getLabel());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.extractor.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ManifestCacheTest {
+
+    private static byte[] readManifest() throws Exception {
+        try (InputStream is = ManifestCacheTest.class.getResourceAsStream("/test.json")) {
+            return is.readAllBytes();
+        }
+    }
+
+    @Test
+    void testBodySurvivesRevalidation() throws Exception {
+        final byte[] body = readManifest();
+        final ManifestCache cache = new ManifestCache(1 << 24, 3600);
+        assertNull(cache.get("m"));
+        final CachedManifest first = cache.put("m", body, "\"v1\"", null);
+        assertSame(body, cache.get("m").getBody());
+
+        //an unchanged body keeps the cached bytes under the new validators
+        final CachedManifest same = cache.put("m", body.clone(), "\"v2\"", "Mon, 01 Jan 2024 00:00:00 GMT");
+        assertEquals("\"v2\"", cache.get("m").getEtag());
+        assertEquals("Mon, 01 Jan 2024 00:00:00 GMT", same.getLastModified());
+        assertSame(first.getBody(), same.getBody());
+
+        final byte[] changed = new String(body, "UTF-8").replace("Ms 1091", "Ms 1092").getBytes("UTF-8");
+        final CachedManifest updated = cache.put("m", changed, "\"v3\"", null);
+        assertNotSame(first.getBody(), updated.getBody());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void testEvictsBySize() throws Exception {
+        final byte[] body = readManifest();
+        final ManifestCache cache = new ManifestCache(4L * body.length, 3600);
+        int cached = 0;
+        for (int i = 0; i < 20; i++) {
+            cache.put("m" + i, body, null, null);
+        }
+        for (int i = 0; i < 20; i++) {
+            cached += cache.get("m" + i) == null ? 0 : 1;
+        }
+        assertTrue(cached >= 1 && cached <= 4);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.extractor.dimensions;
+
+import de.ubleipzig.metadata.templates.ImageServiceResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ImageDimensionCacheTest {
+
+    @TempDir
+    Path tmp;
+
+    private static ImageServiceResponse dims(final int width, final int height) {
+        final ImageServiceResponse ir = new ImageServiceResponse();
+        ir.setWidth(width);
+        ir.setHeight(height);
+        return ir;
+    }
+
+    @Test
+    void testStorePersistsAcrossReopen() throws Exception {
+        final Path file = tmp.resolve("dimensions.db");
+        final ImageDimensionStore store = new ImageDimensionStore(file, 64);
+        for (int i = 0; i < 200; i++) {
+            store.put("https://iiif.test/image/" + i, dims(i, i * 2));
+        }
+        final ImageDimensionStore reopened = new ImageDimensionStore(file, 1024);
+        final ImageServiceResponse ir = reopened.get("https://iiif.test/image/199", 0).orElseThrow();
+        assertEquals(199, ir.getWidth());
+        assertEquals(398, ir.getHeight());
+        assertFalse(reopened.get("https://iiif.test/image/199", Long.MAX_VALUE).isPresent());
+        assertFalse(reopened.get("https://iiif.test/other", 0).isPresent());
+    }
+
+    @Test
+    void testCacheTiersAndCounters() throws Exception {
+        final ImageDimensionStore store = new ImageDimensionStore(tmp.resolve("dimensions.db"), 64);
+        final AtomicInteger loads = new AtomicInteger();
+        final ImageDimensionCache cache = new ImageDimensionCache(10, 3600, store);
+        cache.get("a", s -> {
+            loads.incrementAndGet();
+            return dims(1, 2);
+        });
+        cache.get("a", s -> dims(0, 0));
+        assertNull(cache.get("b", s -> null));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+
+        final ImageDimensionCache restarted = new ImageDimensionCache(10, 3600, store);
+        final ImageServiceResponse ir = restarted.get("a", s -> dims(0, 0));
+        assertEquals(2, ir.getHeight());
+        assertEquals(1, restarted.getDiskHitCount());
+        assertEquals(0, restarted.getMissCount());
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.extractor.disassembler;
+
+import de.ubleipzig.metadata.templates.v2.Structure;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CanvasStructureIndexTest {
+
+    private static Structure structure(final String id, final List<String> canvases) {
+        final Structure s = new Structure();
+        s.setId(id);
+        s.setCanvases(canvases);
+        return s;
+    }
+
+    @Test
+    void testIndexReturnsStructuresInManifestOrder() {
+        final CanvasStructureIndex index = new CanvasStructureIndex(List.of(
+                structure("LOG_0000", null),
+                structure("LOG_0001", List.of("c1", "c2")),
+                structure("LOG_0002", List.of("c2", "c3", "c2")),
+                structure("LOG_0003", List.of("c1"))));
+        assertArrayEquals(new int[]{1, 3}, index.get("c1"));
+        assertArrayEquals(new int[]{1, 2}, index.get("c2"));
+        assertArrayEquals(new int[]{2}, index.get("c3"));
+        assertArrayEquals(new int[0], index.get("c4"));
+        assertEquals("LOG_0003", index.getStructure(3).getId());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.extractor.disassembler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DisassemblerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static String manifest() throws Exception {
+        try (InputStream is = DisassemblerTest.class.getResourceAsStream("/test.json")) {
+            return new String(is.readAllBytes(), UTF_8);
+        }
+    }
+
+    @Test
+    void testWriteMatchesBuild() throws Exception {
+        final Disassembler disassembler = new Disassembler(manifest());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Disassembler(manifest()).write(out, false);
+        assertEquals(disassembler.build(), out.toString(UTF_8));
+    }
+
+    @Test
+    void testStreamNdJson() throws Exception {
+        final JsonNode atomList = MAPPER.readTree(new Disassembler(manifest()).build()).get("atomList");
+        final String ndjson;
+        try (InputStream is = new Disassembler(manifest()).stream(true)) {
+            ndjson = new String(is.readAllBytes(), UTF_8);
+        }
+        final List<String> lines = ndjson.lines().toList();
+        assertEquals(atomList.size(), lines.size());
+        for (int n = 0; n < lines.size(); n++) {
+            assertEquals(atomList.get(n), MAPPER.readTree(lines.get(n)));
+        }
+    }
+
+    @Test
+    void testEachImageServiceIsOwnAtom() throws Exception {
+        final String manifest = "{\"@id\":\"m\",\"label\":\"Two images\",\"sequences\":[{\"canvases\":[{"
+                + "\"@id\":\"c1\",\"images\":[{\"resource\":{\"service\":{\"@id\":\"https://iiif/s1\"}}},"
+                + "{\"resource\":{\"service\":{\"@id\":\"https://iiif/s2\"}}}]}]}]}";
+        final String built = new Disassembler(manifest).build();
+        final JsonNode atomList = MAPPER.readTree(built).get("atomList");
+        assertEquals(2, atomList.size());
+        assertEquals("https://iiif/s1", atomList.get(0).get("metadata").get("thumbnail").asText());
+        assertEquals("https://iiif/s2", atomList.get(1).get("metadata").get("thumbnail").asText());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Disassembler(manifest).write(out, false);
+        assertEquals(built, out.toString(UTF_8));
+    }
+
+    @Test
+    void testStreamReportsFailure() throws Exception {
+        //an image without a resource cannot be disassembled
+        final String manifest = "{\"@id\":\"m\",\"sequences\":[{\"canvases\":[{\"@id\":\"c1\","
+                + "\"images\":[{}]}]}]}";
+        try (InputStream is = new Disassembler(manifest).stream(true)) {
+            assertThrows(IOException.class, is::readAllBytes);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.extractor.reserializer;
+
+import de.ubleipzig.metadata.templates.v2.Structure;
+import de.ubleipzig.metadata.templates.v3.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class StructureBuilderVersion3Test {
+    private static final String BASE = "https://iiif.ub.uni-leipzig.de/0000000001/";
+
+    private static Structure range(final String id, final String label, final List<String> ranges,
+                                   final List<String> canvases) {
+        final Structure structure = new Structure();
+        structure.setId(BASE + "range/" + id);
+        structure.setLabel(label);
+        structure.setRanges(ranges.stream().map(r -> BASE + "range/" + r).collect(Collectors.toList()));
+        structure.setCanvases(canvases.stream().map(c -> BASE + "canvas/" + c).collect(Collectors.toList()));
+        return structure;
+    }
+
+    private static List<Item> build(final List<Structure> structures) {
+        final StructureBuilderVersion3 builder = new StructureBuilderVersion3(structures, "0000000001");
+        builder.fix();
+        return builder.build();
+    }
+
+    @Test
+    void testNestedRanges() {
+        final List<Structure> structures = new ArrayList<>();
+        structures.add(range("LOG_0000", "TOC", List.of("LOG_0001", "LOG_0002"), List.of()));
+        structures.add(range("LOG_0001", "Part", List.of("LOG_0003"), List.of("1", "2")));
+        structures.add(range("LOG_0002", "Index", List.of(), List.of("3")));
+        structures.add(range("LOG_0003", "Chapter", List.of("LOG_0004"), List.of("1")));
+        structures.add(range("LOG_0004", "Section", List.of(), List.of("2")));
+        final Item top = build(structures).get(0);
+        assertEquals("Range", top.getType());
+        final Item part = top.getItems().get(0);
+        assertEquals(List.of("Part"), part.getLabel().get("de"));
+        final Item chapter = part.getItems().get(0);
+        assertEquals(1, part.getItems().size());
+        assertEquals("Range", chapter.getType());
+        assertEquals(List.of("Chapter"), chapter.getLabel().get("de"));
+        final Item section = chapter.getItems().get(0);
+        assertEquals(List.of("Section"), section.getLabel().get("de"));
+        assertEquals("https://iiif.ub.uni-leipzig.de/0000000001/canvas/00000002", section.getItems().get(0).getId());
+        assertEquals("Canvas", top.getItems().get(1).getItems().get(0).getType());
+    }
+
+    @Test
+    void testCyclicRanges() {
+        final List<Structure> structures = new ArrayList<>();
+        structures.add(range("LOG_0000", "TOC", List.of("LOG_0001"), List.of()));
+        structures.add(range("LOG_0001", "Part", List.of("LOG_0000"), List.of("1")));
+        final Item part = build(structures).get(0).getItems().get(0);
+        final Item back = part.getItems().get(0);
+        assertEquals("https://iiif.ub.uni-leipzig.de/0000000001/range/LOG_0000", back.getId());
+        assertNull(back.getItems());
+    }
+}
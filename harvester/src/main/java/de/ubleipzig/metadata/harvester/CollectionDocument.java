@@ -0,0 +1,113 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.harvester;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import de.ubleipzig.metadata.templates.collections.ManifestItem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CollectionDocument.
+ *
+ * <p>The links and manifests of one IIIF collection or collection page, read from Presentation 2 ({@code collections},
+ * {@code manifests}, {@code members}) or Presentation 3 ({@code items}) documents. {@code first} and {@code next}
+ * are followed as links.</p>
+ */
+final class CollectionDocument {
+    private ManifestItem collection;
+    private final List<String> links = new ArrayList<>();
+    private final List<ManifestItem> manifests = new ArrayList<>();
+
+    private CollectionDocument() {
+    }
+
+    /**
+     * @param doc JsonNode
+     * @return CollectionDocument
+     */
+    static CollectionDocument read(final JsonNode doc) {
+        final CollectionDocument d = new CollectionDocument();
+        d.collection = item(doc);
+        doc.path("collections").forEach(d::addLink);
+        doc.path("manifests").forEach(d::addManifest);
+        doc.path("members").forEach(d::addMember);
+        doc.path("items").forEach(d::addMember);
+        d.addLink(doc.path("first"));
+        d.addLink(doc.path("next"));
+        return d;
+    }
+
+    /**
+     * @return the id, type and label of the document itself, the id being null if it has none
+     */
+    ManifestItem getCollection() {
+        return collection;
+    }
+
+    List<String> getLinks() {
+        return links;
+    }
+
+    List<ManifestItem> getManifests() {
+        return manifests;
+    }
+
+    private void addMember(final JsonNode member) {
+        final String type = text(member, "@type", "type");
+        if (type == null) {
+            return;
+        }
+        if (type.endsWith("Collection")) {
+            addLink(member);
+        } else if (type.endsWith("Manifest")) {
+            addManifest(member);
+        }
+    }
+
+    private void addLink(final JsonNode link) {
+        final String id = link.isTextual() ? link.textValue() : text(link, "@id", "id");
+        if (id != null) {
+            links.add(id);
+        }
+    }
+
+    private void addManifest(final JsonNode manifest) {
+        final ManifestItem item = item(manifest);
+        if (item.getId() != null) {
+            manifests.add(item);
+        }
+    }
+
+    private static ManifestItem item(final JsonNode node) {
+        final ManifestItem item = new ManifestItem();
+        item.setId(text(node, "@id", "id"));
+        item.setType(text(node, "@type", "type"));
+        final JsonNode label = node.path("label");
+        if (label.isTextual()) {
+            item.setLabel(label.textValue());
+        } else if (label.isObject() && label.elements().hasNext()) {
+            //a Presentation 3 language map
+            item.setLabel(label.elements().next().path(0).asText(null));
+        }
+        return item;
+    }
+
+    private static String text(final JsonNode node, final String name, final String alternative) {
+        final JsonNode value = node.has(name) ? node.get(name) : node.path(alternative);
+        return value.isTextual() ? value.textValue() : null;
+    }
+}
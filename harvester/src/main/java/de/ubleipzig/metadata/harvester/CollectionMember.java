@@ -0,0 +1,47 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.harvester;
+
+import de.ubleipzig.metadata.templates.collections.ManifestItem;
+
+/**
+ * CollectionMember.
+ *
+ * <p>A harvested manifest together with the collection that lists it.</p>
+ */
+public final class CollectionMember {
+    private final ManifestItem collection;
+    private final ManifestItem manifest;
+
+    CollectionMember(final ManifestItem collection, final ManifestItem manifest) {
+        this.collection = collection;
+        this.manifest = manifest;
+    }
+
+    /**
+     * @return the id and label of the collection, which for a {@code first} or {@code next} page without a label
+     * of its own is the collection the page belongs to
+     */
+    public ManifestItem getCollection() {
+        return collection;
+    }
+
+    /**
+     * @return the manifest
+     */
+    public ManifestItem getManifest() {
+        return manifest;
+    }
+}
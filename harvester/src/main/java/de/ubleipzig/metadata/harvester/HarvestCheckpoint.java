@@ -0,0 +1,126 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.harvester;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import de.ubleipzig.metadata.processor.AppendLog;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static de.ubleipzig.metadata.processor.JsonSerializer.MAPPER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * HarvestCheckpoint.
+ *
+ * <p>An append-only NDJSON log of a harvest, with a {@code {"discovered": ...}} line for each collection or page
+ * found and a {@code {"done": ...}} line once its manifests have been consumed. Reopening the log after a crash
+ * restores the pages still to be harvested. A line truncated by the crash is ignored and ended, so the next entry
+ * is appended on a line of its own.</p>
+ */
+@Slf4j
+public class HarvestCheckpoint implements AutoCloseable {
+
+    private static final String DISCOVERED = "discovered";
+    private static final String DONE = "done";
+    private final Set<String> discovered = new LinkedHashSet<>();
+    private final Set<String> done = new LinkedHashSet<>();
+    private final BufferedWriter writer;
+
+    /**
+     * @param file Path
+     * @throws IOException Exception
+     */
+    public HarvestCheckpoint(final Path file) throws IOException {
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    try {
+                        final JsonNode entry = MAPPER.readTree(line);
+                        if (entry.hasNonNull(DISCOVERED)) {
+                            discovered.add(entry.get(DISCOVERED).asText());
+                        } else {
+                            done.add(entry.get(DONE).asText());
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        log.warn("Ignoring unreadable checkpoint entry in {}", file);
+                    }
+                }
+            }
+            log.info("Restored {} pages ({} done) from {}", discovered.size(), done.size(), file);
+        }
+        this.writer = AppendLog.open(file);
+    }
+
+    /**
+     * @return the collections and pages found so far
+     */
+    public synchronized Set<String> getDiscovered() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(discovered));
+    }
+
+    /**
+     * @return the collections and pages found but not yet done, in the order they were found
+     */
+    public synchronized Set<String> getPending() {
+        final Set<String> pending = new LinkedHashSet<>(discovered);
+        pending.removeAll(done);
+        return pending;
+    }
+
+    /**
+     * @param id String
+     */
+    public synchronized void discovered(final String id) {
+        if (discovered.add(id)) {
+            write(DISCOVERED, id);
+        }
+    }
+
+    /**
+     * @param id String
+     */
+    public synchronized void done(final String id) {
+        if (done.add(id)) {
+            write(DONE, id);
+        }
+    }
+
+    private void write(final String event, final String id) {
+        try {
+            writer.write(MAPPER.writeValueAsString(Map.of(event, id)));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
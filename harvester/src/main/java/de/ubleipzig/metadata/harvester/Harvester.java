@@ -0,0 +1,374 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.harvester;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.util.concurrent.RateLimiter;
+import de.ubleipzig.metadata.processor.StageMetrics;
+import de.ubleipzig.metadata.templates.collections.ManifestItem;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static de.ubleipzig.metadata.processor.JsonSerializer.MAPPER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+/**
+ * Harvester.
+ *
+ * <p>Walks IIIF collections breadth first and streams the manifests they list. Nested collections and
+ * {@code first}/{@code next} pages are fetched concurrently, with a fair semaphore keeping the fetches in the order
+ * the pages were found and a rate limit for each host. Every page found is written to a {@link HarvestCheckpoint}
+ * and marked done once its manifests have been consumed from the stream, so an interrupted harvest resumes from
+ * the pages still pending. A manifest may be emitted again for a page that was fetched but not finished.</p>
+ *
+ * <p>A page that cannot be fetched is logged and counted as an error, and stays pending for the next run.</p>
+ */
+@Slf4j
+public class Harvester {
+
+    private static final int CONCURRENCY = Integer.getInteger("harvester.concurrency", 16);
+    private static final double HOST_RATE = Double.parseDouble(System.getProperty("harvester.hostRate", "10"));
+    private static final int TIMEOUT = Integer.getInteger("harvester.timeout", 10000);
+    private static final int PAGE_QUEUE_SIZE = 64;
+    private static final Page END = new Page(null, null, Collections.emptyList());
+    private final Semaphore permits;
+    private final double hostRate;
+    private final Duration timeout;
+    private final Map<String, RateLimiter> hostLimits = new ConcurrentHashMap<>();
+    private final HttpClient client;
+    private final StageMetrics metrics = new StageMetrics("harvest");
+
+    public Harvester() {
+        this(CONCURRENCY, HOST_RATE, Duration.ofMillis(TIMEOUT));
+    }
+
+    /**
+     * @param concurrency the number of pages fetched at once
+     * @param hostRate the number of requests per second for each host
+     * @param timeout Duration
+     */
+    public Harvester(final int concurrency, final double hostRate, final Duration timeout) {
+        this.permits = new Semaphore(concurrency, true);
+        this.hostRate = hostRate;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * Harvests the manifests of the collections in a file, named by the {@code harvester.out} property and
+     * appended to, as NDJSON. The checkpoint is named by the {@code harvester.checkpoint} property.
+     *
+     * @param args the collection urls
+     * @throws IOException Exception
+     */
+    public static void main(final String[] args) throws IOException {
+        final Path checkpoint = Paths.get(System.getProperty("harvester.checkpoint", "harvest.checkpoint"));
+        final Path out = Paths.get(System.getProperty("harvester.out", "manifests.ndjson"));
+        final ObjectWriter writer = MAPPER.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL).writer();
+        final Harvester harvester = new Harvester();
+        try (BufferedWriter w = Files.newBufferedWriter(out, UTF_8, CREATE, APPEND);
+             Stream<ManifestItem> manifests = harvester.harvest(Arrays.asList(args), checkpoint)) {
+            manifests.forEach(m -> {
+                try {
+                    w.write(writer.writeValueAsString(m));
+                    w.newLine();
+                    w.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        log.info(harvester.getMetrics().toString());
+    }
+
+    /**
+     * @return the page metrics
+     */
+    public StageMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Starts or resumes a harvest. The stream must be closed to stop the fetches and close the checkpoint.
+     *
+     * @param roots the collection urls, which are ignored when the checkpoint already has pages
+     * @param checkpoint Path
+     * @return the manifests, in the order their pages are fetched
+     * @throws IOException Exception
+     */
+    public Stream<ManifestItem> harvest(final List<String> roots, final Path checkpoint) throws IOException {
+        return harvest(roots, new HarvestCheckpoint(checkpoint));
+    }
+
+    /**
+     * Starts or resumes a harvest like {@link #harvest(List, Path)}, emitting each manifest with the collection
+     * that lists it.
+     *
+     * @param roots the collection urls, which are ignored when the checkpoint already has pages
+     * @param checkpoint Path
+     * @return the manifests with their collections, in the order their pages are fetched
+     * @throws IOException Exception
+     */
+    public Stream<CollectionMember> harvestWithCollections(final List<String> roots, final Path checkpoint)
+            throws IOException {
+        return harvestWithCollections(roots, new HarvestCheckpoint(checkpoint));
+    }
+
+    /**
+     * @param roots the collection urls, which are ignored when the checkpoint already has pages
+     * @param cp HarvestCheckpoint, closed with the stream
+     * @return the manifests, in the order their pages are fetched
+     */
+    Stream<ManifestItem> harvest(final List<String> roots, final HarvestCheckpoint cp) {
+        return harvestWithCollections(roots, cp).map(CollectionMember::getManifest);
+    }
+
+    /**
+     * @param roots the collection urls, which are ignored when the checkpoint already has pages
+     * @param cp HarvestCheckpoint, closed with the stream
+     * @return the manifests with their collections, in the order their pages are fetched
+     */
+    Stream<CollectionMember> harvestWithCollections(final List<String> roots, final HarvestCheckpoint cp) {
+        final Run run = new Run(cp);
+        //held until the seeds are scheduled, so the harvest cannot end before then
+        run.outstanding.incrementAndGet();
+        if (cp.getDiscovered().isEmpty()) {
+            roots.forEach(r -> {
+                if (run.visited.add(r)) {
+                    cp.discovered(r);
+                    run.schedule(r);
+                }
+            });
+        } else {
+            run.visited.addAll(cp.getDiscovered());
+            cp.getPending().forEach(run::schedule);
+        }
+        run.release();
+        final Spliterator<CollectionMember> spliterator = Spliterators.spliteratorUnknownSize(run,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            run.executor.shutdownNow();
+            try {
+                cp.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private JsonNode fetch(final String url) throws IOException, InterruptedException {
+        final URI uri = URI.create(url);
+        hostLimits.computeIfAbsent(String.valueOf(uri.getHost()), h -> RateLimiter.create(hostRate)).acquire();
+        final HttpRequest req = HttpRequest.newBuilder(uri).timeout(timeout).header("Accept",
+                "application/ld+json, application/json").GET().build();
+        final HttpResponse<InputStream> res = client.send(req, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = res.body()) {
+            if (res.statusCode() != 200) {
+                throw new IOException("status " + res.statusCode());
+            }
+            return MAPPER.readTree(body);
+        }
+    }
+
+    private static final class Page {
+        private final String url;
+        private final ManifestItem collection;
+        private final List<ManifestItem> manifests;
+
+        private Page(final String url, final ManifestItem collection, final List<ManifestItem> manifests) {
+            this.url = url;
+            this.collection = collection;
+            this.manifests = manifests;
+        }
+    }
+
+    /**
+     * The state of one harvest, which is also the iterator of its manifests.
+     */
+    private final class Run implements Iterator<CollectionMember> {
+        private final HarvestCheckpoint cp;
+        private final Set<String> visited = ConcurrentHashMap.newKeySet();
+        //the collection of the page that linked each url not yet fetched
+        private final Map<String, ManifestItem> parents = new ConcurrentHashMap<>();
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final BlockingQueue<Page> pages = new ArrayBlockingQueue<>(PAGE_QUEUE_SIZE);
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private Page current;
+        private Iterator<ManifestItem> items = Collections.emptyIterator();
+        private boolean ended;
+
+        private Run(final HarvestCheckpoint cp) {
+            this.cp = cp;
+        }
+
+        private void schedule(final String url) {
+            outstanding.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        permits.acquire();
+                        try {
+                            harvestPage(url);
+                        } finally {
+                            permits.release();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException e) {
+                        metrics.error();
+                        log.error("Could not harvest {}: {}", url, e.getMessage());
+                    } finally {
+                        release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                release();
+                throw e;
+            }
+        }
+
+        private void harvestPage(final String url) throws InterruptedException {
+            final CollectionDocument doc;
+            try {
+                doc = metrics.time(() -> {
+                    try {
+                        return CollectionDocument.read(fetch(url));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+                log.error("Could not harvest {}: {}", url, e.getMessage());
+                return;
+            }
+            final ManifestItem collection = collectionOf(url, doc.getCollection());
+            doc.getLinks().forEach(link -> {
+                if (visited.add(link)) {
+                    parents.put(link, collection);
+                    try {
+                        cp.discovered(link);
+                        schedule(link);
+                    } catch (RuntimeException e) {
+                        metrics.error();
+                        log.error("Could not schedule {}: {}", link, e.getMessage());
+                    }
+                }
+            });
+            //holding the permit here stops the fetches while the consumer is behind
+            pages.put(new Page(url, collection, doc.getManifests()));
+        }
+
+        /**
+         * A page without a label of its own, such as a {@code first} or {@code next} page, belongs to the
+         * collection that linked it. Pages resumed from a checkpoint have no parent and stand for themselves.
+         */
+        private ManifestItem collectionOf(final String url, final ManifestItem own) {
+            final ManifestItem parent = parents.remove(url);
+            if (own.getLabel() == null && parent != null) {
+                return parent;
+            }
+            if (own.getId() == null) {
+                own.setId(url);
+            }
+            return own;
+        }
+
+        private void release() {
+            if (outstanding.decrementAndGet() == 0) {
+                try {
+                    pages.put(END);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!items.hasNext()) {
+                if (current != null) {
+                    cp.done(current.url);
+                    current = null;
+                }
+                if (ended) {
+                    return false;
+                }
+                final Page page;
+                try {
+                    page = pages.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while harvesting", e);
+                }
+                if (page == END) {
+                    ended = true;
+                    return false;
+                }
+                current = page;
+                items = page.manifests.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public CollectionMember next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return new CollectionMember(current.collection, items.next());
+        }
+    }
+}
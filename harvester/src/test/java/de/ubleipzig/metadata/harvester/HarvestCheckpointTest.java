@@ -0,0 +1,45 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.harvester;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HarvestCheckpointTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testEntryAfterTruncatedLineSurvivesRestart() throws Exception {
+        final Path file = dir.resolve("checkpoint");
+        //a crash while writing the done entry of page1
+        Files.writeString(file, "{\"discovered\":\"page1\"}\n{\"discovered\":\"page2\"}\n{\"done\":\"pa", UTF_8);
+        try (HarvestCheckpoint cp = new HarvestCheckpoint(file)) {
+            assertEquals(List.of("page1", "page2"), List.copyOf(cp.getPending()));
+            cp.done("page2");
+        }
+        try (HarvestCheckpoint cp = new HarvestCheckpoint(file)) {
+            assertEquals(List.of("page1"), List.copyOf(cp.getPending()));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.harvester;
+
+import com.sun.net.httpserver.HttpServer;
+import de.ubleipzig.metadata.templates.collections.ManifestItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HarvesterTest {
+
+    private final Map<String, String> documents = new HashMap<>();
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private String base;
+
+    /**
+     * A Presentation 2 collection with a nested Presentation 3 collection, two pages and a broken page.
+     */
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        base = "http://localhost:" + server.getAddress().getPort();
+        documents.put("/top", "{\"@id\":\"" + base + "/top\",\"@type\":\"sc:Collection\",\"label\":\"Top\","
+                + "\"collections\":[{\"@id\":\"" + base + "/nested\"}],\"manifests\":[{\"@id\":\"m0\",\"@type\":"
+                + "\"sc:Manifest\",\"label\":\"Zero\"}],\"first\":\"" + base + "/page1\"}");
+        documents.put("/page1", "{\"manifests\":[{\"@id\":\"m1\"},{\"@id\":\"m2\"}],\"next\":\"" + base
+                + "/page2\"}");
+        documents.put("/page2", "{\"manifests\":[{\"@id\":\"m3\"}],\"next\":{\"@id\":\"" + base + "/broken\"}}");
+        documents.put("/nested", "{\"id\":\"" + base + "/nested\",\"type\":\"Collection\",\"label\":{\"en\":"
+                + "[\"Nested\"]},\"items\":[{\"id\":\"m4\",\"type\":\"Manifest\",\"label\":{\"en\":[\"Four\"]}},"
+                + "{\"id\":\"" + base + "/top\",\"type\":\"Collection\"}]}");
+        server.createContext("/", exchange -> {
+            final String path = exchange.getRequestURI().getPath();
+            requests.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+            final String doc = documents.get(path);
+            final byte[] body = (doc == null ? "{}" : doc).getBytes(UTF_8);
+            exchange.sendResponseHeaders(doc == null ? 500 : 200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void testHarvestEmitsEachManifestOnce(@TempDir final Path dir) throws Exception {
+        final Harvester harvester = new Harvester(4, 1000, Duration.ofSeconds(5));
+        final List<ManifestItem> manifests;
+        try (Stream<ManifestItem> stream = harvester.harvest(List.of(base + "/top"), dir.resolve("checkpoint"))) {
+            manifests = stream.collect(Collectors.toList());
+        }
+        assertEquals(List.of("m0", "m1", "m2", "m3", "m4"), manifests.stream().map(ManifestItem::getId).sorted()
+                .collect(Collectors.toList()));
+        assertEquals("Four", manifests.stream().filter(m -> m.getId().equals("m4")).findFirst().orElseThrow()
+                .getLabel());
+        requests.forEach((path, n) -> assertEquals(1, n.get(), path));
+        assertEquals(1, harvester.getMetrics().getErrors());
+        try (HarvestCheckpoint cp = new HarvestCheckpoint(dir.resolve("checkpoint"))) {
+            assertEquals(List.of(base + "/broken"), new ArrayList<>(cp.getPending()));
+        }
+    }
+
+    @Test
+    void testHarvestEmitsTheCollectionOfEachManifest(@TempDir final Path dir) throws Exception {
+        final Harvester harvester = new Harvester(4, 1000, Duration.ofSeconds(5));
+        final Map<String, String> labels;
+        try (Stream<CollectionMember> stream = harvester.harvestWithCollections(List.of(base + "/top"),
+                dir.resolve("checkpoint"))) {
+            labels = stream.collect(Collectors.toMap(m -> m.getManifest().getId(),
+                    m -> m.getCollection().getId() + " " + m.getCollection().getLabel()));
+        }
+        //the pages have no label and belong to the collection that links them
+        assertEquals(Map.of("m0", base + "/top Top", "m1", base + "/top Top", "m2", base + "/top Top", "m3", base
+                + "/top Top", "m4", base + "/nested Nested"), labels);
+    }
+
+    @Test
+    void testHarvestResumesPendingPages(@TempDir final Path dir) throws Exception {
+        final Path checkpoint = dir.resolve("checkpoint");
+        final List<String> ids = new ArrayList<>();
+        final Harvester first = new Harvester(1, 1000, Duration.ofSeconds(5));
+        try (Stream<ManifestItem> stream = first.harvest(List.of(base + "/top"), checkpoint)) {
+            final Iterator<ManifestItem> it = stream.iterator();
+            ids.add(it.next().getId());
+            //moves past the manifests of the top collection, which marks it done
+            assertTrue(it.hasNext());
+        }
+        assertEquals(List.of("m0"), ids);
+
+        final Harvester second = new Harvester(1, 1000, Duration.ofSeconds(5));
+        try (Stream<ManifestItem> stream = second.harvest(List.of(base + "/top"), checkpoint)) {
+            stream.forEach(m -> ids.add(m.getId()));
+        }
+        assertEquals(List.of("m0", "m1", "m2", "m3", "m4"), ids.stream().distinct().sorted()
+                .collect(Collectors.toList()));
+        assertEquals(1, requests.get("/top").get());
+    }
+
+    @Test
+    void testHarvestEndsWhenCheckpointWriteFails(@TempDir final Path dir) throws Exception {
+        final HarvestCheckpoint cp = new HarvestCheckpoint(dir.resolve("checkpoint")) {
+            @Override
+            public synchronized void discovered(final String id) {
+                if (id.endsWith("/page1")) {
+                    throw new UncheckedIOException(new IOException("disk full"));
+                }
+                super.discovered(id);
+            }
+        };
+        final Harvester harvester = new Harvester(4, 1000, Duration.ofSeconds(5));
+        final List<String> ids = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            try (Stream<ManifestItem> stream = harvester.harvest(List.of(base + "/top"), cp)) {
+                return stream.map(ManifestItem::getId).sorted().collect(Collectors.toList());
+            }
+        });
+        assertEquals(List.of("m0", "m4"), ids);
+        assertEquals(1, harvester.getMetrics().getErrors());
+        assertNull(requests.get("/page1"));
+    }
+}
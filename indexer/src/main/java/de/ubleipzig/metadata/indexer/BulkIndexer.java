@@ -0,0 +1,272 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.indexer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static de.ubleipzig.metadata.indexer.Constants.contentTypeJson;
+import static de.ubleipzig.metadata.processor.JsonSerializer.MAPPER;
+
+/**
+ * BulkIndexer.
+ *
+ * <p>Writes action/document pairs as NDJSON directly into the buffer that becomes the body of an Elasticsearch
+ * {@code _bulk} request, without intermediate Strings. A batch is sent when it reaches {@code maxBytes} or
+ * {@code maxDocs}. Up to {@code concurrency} bulk requests run in parallel, and {@link #add} blocks while all of
+ * them are in flight. The bulk response is parsed, and items rejected with a retryable status (or whole requests
+ * that fail) are re-sent with exponential backoff, up to {@code maxRetries} times.</p>
+ */
+@Slf4j
+public class BulkIndexer implements AutoCloseable {
+
+    private static final ObjectWriter WRITER = MAPPER.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final Set<Integer> RETRYABLE = Set.of(429, 502, 503, 504);
+    private static final long BACKOFF_MILLIS = 200;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final URI bulkUri;
+    private final int maxBytes;
+    private final int maxDocs;
+    private final int maxRetries;
+    private final Semaphore inFlight;
+    private final Phaser pending = new Phaser(1);
+    //retries wait for a permit, which must not tie up the common pool
+    private final ExecutorService retries = Executors.newVirtualThreadPerTaskExecutor();
+    private final LongAdder indexed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private Batch batch = new Batch(0);
+
+    /**
+     * @param bulkUri URI
+     */
+    public BulkIndexer(final URI bulkUri) {
+        this(bulkUri, 5 * 1024 * 1024, 1000, 4, 3);
+    }
+
+    /**
+     * @param bulkUri URI
+     * @param maxBytes flush threshold in bytes
+     * @param maxDocs flush threshold in documents
+     * @param concurrency number of bulk requests in flight
+     * @param maxRetries number of times a rejected item is re-sent
+     */
+    public BulkIndexer(final URI bulkUri, final int maxBytes, final int maxDocs, final int concurrency,
+                       final int maxRetries) {
+        this.bulkUri = bulkUri;
+        this.maxBytes = maxBytes;
+        this.maxDocs = maxDocs;
+        this.maxRetries = maxRetries;
+        this.inFlight = new Semaphore(concurrency);
+    }
+
+    /**
+     * @param action Object, e.g. ElasticCreate
+     * @param document Object
+     */
+    public synchronized void add(final Object action, final Object document) {
+        try {
+            final int start = batch.size();
+            WRITER.writeValue(batch, action);
+            batch.write('\n');
+            WRITER.writeValue(batch, document);
+            batch.write('\n');
+            batch.offsets.add(start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (batch.size() >= maxBytes || batch.offsets.size() >= maxDocs) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends the current batch.
+     */
+    public synchronized void flush() {
+        if (!batch.offsets.isEmpty()) {
+            send(batch);
+            batch = new Batch(0);
+        }
+    }
+
+    /**
+     * Sends the current batch and waits for all requests and retries to finish.
+     */
+    @Override
+    public void close() {
+        flush();
+        pending.arriveAndAwaitAdvance();
+        retries.shutdown();
+        log.info("Bulk indexing finished: {} indexed, {} failed, {} retried in {} requests", getIndexedCount(),
+                getFailedCount(), getRetriedCount(), requests.sum());
+    }
+
+    private void send(final Batch b) {
+        pending.register();
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.add(b.offsets.size());
+            pending.arriveAndDeregister();
+            return;
+        }
+        requests.increment();
+        final HttpRequest request = HttpRequest.newBuilder(bulkUri).header("Content-Type", contentTypeJson).POST(
+                HttpRequest.BodyPublishers.ofByteArray(b.buffer(), 0, b.size())).build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()).whenComplete((res, ex) -> {
+            inFlight.release();
+            try {
+                if (ex != null) {
+                    log.error("Bulk request failed: {}", ex.getMessage());
+                    retry(b, b.all());
+                } else if (RETRYABLE.contains(res.statusCode())) {
+                    res.body().close();
+                    retry(b, b.all());
+                } else if (res.statusCode() != 200) {
+                    res.body().close();
+                    log.error("Bulk request rejected with status {}", res.statusCode());
+                    failed.add(b.offsets.size());
+                } else {
+                    handleResponse(b, MAPPER.readTree(res.body()));
+                }
+            } catch (IOException e) {
+                log.error("Could not read bulk response: {}", e.getMessage());
+                retry(b, b.all());
+            } finally {
+                pending.arriveAndDeregister();
+            }
+        });
+    }
+
+    private void handleResponse(final Batch b, final JsonNode response) {
+        if (!response.path("errors").asBoolean(false)) {
+            indexed.add(b.offsets.size());
+            return;
+        }
+        final List<Integer> rejected = new ArrayList<>();
+        final Iterator<JsonNode> items = response.path("items").elements();
+        for (int n = 0; n < b.offsets.size(); n++) {
+            final JsonNode item = items.hasNext() ? items.next().elements().next() : null;
+            final int status = item == null ? 500 : item.path("status").asInt(500);
+            if (status < 300) {
+                indexed.increment();
+            } else if (RETRYABLE.contains(status)) {
+                rejected.add(n);
+            } else {
+                failed.increment();
+                log.error("Bulk item rejected with status {}: {}", status, item == null ? "" : item.path("error"));
+            }
+        }
+        retry(b, rejected);
+    }
+
+    private void retry(final Batch b, final List<Integer> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        if (b.attempt >= maxRetries) {
+            failed.add(items.size());
+            log.error("Giving up on {} bulk items after {} retries", items.size(), maxRetries);
+            return;
+        }
+        final Batch next = new Batch(b.attempt + 1);
+        for (Integer n : items) {
+            final int start = b.offsets.get(n);
+            final int end = n + 1 < b.offsets.size() ? b.offsets.get(n + 1) : b.size();
+            next.offsets.add(next.size());
+            next.write(b.buffer(), start, end - start);
+        }
+        retried.add(items.size());
+        pending.register();
+        CompletableFuture.delayedExecutor(BACKOFF_MILLIS << b.attempt, TimeUnit.MILLISECONDS, retries).execute(() -> {
+            try {
+                send(next);
+            } finally {
+                pending.arriveAndDeregister();
+            }
+        });
+    }
+
+    /**
+     * @return number of documents accepted by the index
+     */
+    public long getIndexedCount() {
+        return indexed.sum();
+    }
+
+    /**
+     * @return number of documents that could not be indexed
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * @return number of document retries
+     */
+    public long getRetriedCount() {
+        return retried.sum();
+    }
+
+    /**
+     * A batch buffer that exposes its backing array, so the request body is sent without copying.
+     */
+    private static final class Batch extends ByteArrayOutputStream {
+        private final List<Integer> offsets = new ArrayList<>();
+        private final int attempt;
+
+        Batch(final int attempt) {
+            super(64 * 1024);
+            this.attempt = attempt;
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        List<Integer> all() {
+            final List<Integer> all = new ArrayList<>(offsets.size());
+            for (int n = 0; n < offsets.size(); n++) {
+                all.add(n);
+            }
+            return all;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.indexer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.Lists;
+import de.ubleipzig.metadata.extractor.ExtractorService;
+import de.ubleipzig.metadata.processor.PrefetchIterator;
+import de.ubleipzig.metadata.processor.StageMetrics;
+import de.ubleipzig.metadata.templates.MetadataMap;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static de.ubleipzig.metadata.processor.JsonSerializer.MAPPER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+/**
+ * BulkMetadataJob.
+ *
+ * <p>Extracts the metadata of a list of manifests in partitions. The manifests of a partition are extracted
+ * concurrently and written in order as NDJSON, one {@link MetadataMap} per line, to a temporary file that is
+ * moved into place when the partition is finished. Finished partitions are appended to {@code partitions.ndjson}
+ * in the output directory, and are skipped when the job is run again with the same identifiers.</p>
+ *
+ * <p>Manifests without metadata are left out and counted as items. A manifest that cannot be extracted is logged
+ * and counted as an error of its partition.</p>
+ */
+@Slf4j
+public class BulkMetadataJob {
+
+    static final String PARTITIONS = "partitions.ndjson";
+    private static final int PARTITION_SIZE = Integer.getInteger("bulk.partitionSize", 5000);
+    private static final int CONCURRENCY = Integer.getInteger("bulk.concurrency", 8);
+    private final Function<String, MetadataMap> extractor;
+    private final Path outDir;
+    private final int partitionSize;
+    private final int concurrency;
+
+    /**
+     * Extracts in process with an {@link ExtractorService}, partitioned by the {@code bulk.partitionSize} and
+     * {@code bulk.concurrency} properties.
+     *
+     * @param outDir Path
+     */
+    public BulkMetadataJob(final Path outDir) {
+        this(new ExtractorService(), outDir);
+    }
+
+    private BulkMetadataJob(final ExtractorService service, final Path outDir) {
+        this(id -> service.extract(id).orElse(null), outDir, PARTITION_SIZE, CONCURRENCY);
+    }
+
+    /**
+     * @param extractor the metadata of a manifest id, or null if it has none
+     * @param outDir Path
+     * @param partitionSize int
+     * @param concurrency the number of extractions in flight
+     */
+    public BulkMetadataJob(final Function<String, MetadataMap> extractor, final Path outDir,
+                           final int partitionSize, final int concurrency) {
+        this.extractor = extractor;
+        this.outDir = outDir;
+        this.partitionSize = partitionSize;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Extracts the manifests listed in a file, one id per line, into the directory named by the {@code bulk.out}
+     * property.
+     *
+     * @param args the identifier file
+     * @throws IOException Exception
+     */
+    public static void main(final String[] args) throws IOException {
+        final List<String> ids;
+        try (Stream<String> lines = Files.lines(Paths.get(args[0]), UTF_8)) {
+            ids = lines.map(String::trim).filter(l -> !l.isEmpty()).distinct().collect(Collectors.toList());
+        }
+        new BulkMetadataJob(Paths.get(System.getProperty("bulk.out", "metadata"))).run(ids);
+    }
+
+    /**
+     * @param ids the manifest ids, which must be given in the same order when the job is resumed
+     * @return the metrics of the partitions run, by partition number
+     * @throws IOException Exception
+     */
+    public Map<Integer, StageMetrics> run(final List<String> ids) throws IOException {
+        Files.createDirectories(outDir);
+        final Map<Integer, String> completed = readCompleted();
+        final List<List<String>> partitions = Lists.partition(ids, partitionSize);
+        final Map<Integer, StageMetrics> metrics = new LinkedHashMap<>();
+        log.info("extracting {} ids in {} partitions", ids.size(), partitions.size());
+        try (BufferedWriter manifest = Files.newBufferedWriter(outDir.resolve(PARTITIONS), UTF_8, CREATE,
+                APPEND)) {
+            if (!endsWithNewline(outDir.resolve(PARTITIONS))) {
+                //end an entry truncated by a crash
+                manifest.newLine();
+            }
+            for (int i = 0; i < partitions.size(); i++) {
+                final List<String> partition = partitions.get(i);
+                if (partition.get(0).equals(completed.get(i)) && Files.exists(getPartitionFile(i))) {
+                    log.info("skipping finished partition {}", i);
+                    continue;
+                }
+                final StageMetrics stage = new StageMetrics("partition " + i);
+                final Path file = runPartition(i, partition, stage);
+                final Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("partition", i);
+                entry.put("first", partition.get(0));
+                entry.put("file", file.getFileName().toString());
+                entry.put("items", stage.getItems());
+                entry.put("errors", stage.getErrors());
+                manifest.write(MAPPER.writeValueAsString(entry));
+                manifest.newLine();
+                manifest.flush();
+                log.info(stage.toString());
+                metrics.put(i, stage);
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * @param n the partition number
+     * @return the output file of a partition
+     */
+    public Path getPartitionFile(final int n) {
+        return outDir.resolve("metadata-" + n + ".ndjson");
+    }
+
+    private Path runPartition(final int n, final List<String> ids, final StageMetrics stage) throws IOException {
+        final Path file = getPartitionFile(n);
+        final Path tmp = outDir.resolve(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, UTF_8);
+             PrefetchIterator<String, Optional<MetadataMap>> maps = new PrefetchIterator<>(ids.iterator(),
+                     id -> extract(id, stage), concurrency)) {
+            while (maps.hasNext()) {
+                final Optional<MetadataMap> map = maps.next();
+                if (map.isPresent()) {
+                    writer.write(MAPPER.writeValueAsString(map.get()));
+                    writer.newLine();
+                }
+            }
+        }
+        Files.move(tmp, file, ATOMIC_MOVE, REPLACE_EXISTING);
+        return file;
+    }
+
+    private Optional<MetadataMap> extract(final String id, final StageMetrics stage) {
+        try {
+            final MetadataMap map = stage.time(() -> extractor.apply(id));
+            return Optional.ofNullable(map).filter(m -> m.getMetadataMap() != null && !m.getMetadataMap().isEmpty());
+        } catch (RuntimeException e) {
+            log.error("Could not extract {}: {}", id, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static boolean endsWithNewline(final Path file) throws IOException {
+        try (RandomAccessFile f = new RandomAccessFile(file.toFile(), "r")) {
+            if (f.length() == 0) {
+                return true;
+            }
+            f.seek(f.length() - 1);
+            return f.read() == '\n';
+        }
+    }
+
+    private Map<Integer, String> readCompleted() throws IOException {
+        final Map<Integer, String> completed = new HashMap<>();
+        final Path manifest = outDir.resolve(PARTITIONS);
+        if (Files.exists(manifest)) {
+            try (BufferedReader reader = Files.newBufferedReader(manifest, UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    try {
+                        final JsonNode entry = MAPPER.readTree(line);
+                        completed.put(entry.get("partition").asInt(), entry.get("first").asText());
+                    } catch (IOException | RuntimeException e) {
+                        log.warn("Ignoring unreadable partition entry in {}", manifest);
+                    }
+                }
+            }
+        }
+        return completed;
+    }
+}
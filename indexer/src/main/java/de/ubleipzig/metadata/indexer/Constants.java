@@ -24,4 +24,6 @@ public final class Constants {
     static final String docTypeIndex = "_doc";
     static final String bulkContext = "_bulk";
     static final String contentTypeJson = "application/json";
+    static final String contentTypeNdJson = "application/x-ndjson";
+    static final int scanConcurrency = 4;
 }
@@ -0,0 +1,95 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.indexer;
+
+import de.ubleipzig.metadata.processor.PrefetchIterator;
+import de.ubleipzig.metadata.processor.StageMetrics;
+import de.ubleipzig.metadata.templates.ContentList;
+import de.ubleipzig.metadata.templates.atomic.AnnotationBodyAtom;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * ContentScanner.
+ *
+ * <p>Scans the thumbnails of atoms for their OCR content. Scans recorded in the checkpoint are reused and
+ * only successful scans are recorded.</p>
+ */
+@Slf4j
+final class ContentScanner {
+
+    private final Function<String, ContentList> scanner;
+    private final ScanCheckpoint scans;
+    private final StageMetrics stage;
+
+    /**
+     * @param scanner Function returning the content list of an image, or null if the scan failed
+     * @param scans ScanCheckpoint, may be null
+     * @param stage StageMetrics
+     */
+    ContentScanner(final Function<String, ContentList> scanner, final ScanCheckpoint scans,
+                   final StageMetrics stage) {
+        this.scanner = scanner;
+        this.scans = scans;
+        this.stage = stage;
+    }
+
+    /**
+     * @param atoms Iterator
+     * @param window int, the number of scans that may run ahead of the consumer
+     * @return the scanned atoms in source order, empty where the scan failed
+     */
+    PrefetchIterator<AnnotationBodyAtom, Optional<AnnotationBodyAtom>> scanAll(
+            final Iterator<AnnotationBodyAtom> atoms, final int window) {
+        return new PrefetchIterator<>(atoms, this::scan, window);
+    }
+
+    /**
+     * @param map AnnotationBodyAtom
+     * @return the atom with its content list, or empty if the scan failed
+     */
+    Optional<AnnotationBodyAtom> scan(final AnnotationBodyAtom map) {
+        try {
+            return Optional.of(stage.time(() -> scanOrRestore(map)));
+        } catch (RuntimeException e) {
+            log.error(e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private AnnotationBodyAtom scanOrRestore(final AnnotationBodyAtom map) {
+        final Optional<List<ContentList.Content>> done = scans == null ? Optional.empty() : scans.get(
+                map.getThumbnail());
+        if (done.isPresent()) {
+            map.setContentList(done.get());
+            return map;
+        }
+        log.info("Scanning Image {}", map.getThumbnail());
+        final ContentList contentList = ofNullable(scanner.apply(map.getThumbnail())).orElseThrow(
+                () -> new RuntimeException("Could not scan " + map.getThumbnail()));
+        final List<ContentList.Content> cList = ofNullable(contentList.getContentList()).orElse(List.of());
+        if (scans != null) {
+            scans.put(map.getThumbnail(), cList);
+        }
+        map.setContentList(cList);
+        return map;
+    }
+}
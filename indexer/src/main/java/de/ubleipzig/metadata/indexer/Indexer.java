@@ -16,7 +16,9 @@ package de.ubleipzig.metadata.indexer;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
-import de.ubleipzig.metadata.processor.JsonSerializer;
+import de.ubleipzig.metadata.extractor.ExtractorService;
+import de.ubleipzig.metadata.processor.PrefetchIterator;
+import de.ubleipzig.metadata.processor.StageMetrics;
 import de.ubleipzig.metadata.templates.ContentList;
 import de.ubleipzig.metadata.templates.MetadataMap;
 import de.ubleipzig.metadata.templates.atomic.AnnotationBodyAtom;
@@ -34,20 +36,31 @@ import org.trellisldp.client.LdpClientImpl;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.file.Path;
 import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static de.ubleipzig.metadata.indexer.Constants.*;
 import static de.ubleipzig.metadata.processor.JsonSerializer.MAPPER;
 import static de.ubleipzig.metadata.processor.QueryUtils.readFile;
+import static java.util.Optional.ofNullable;
 
 @Slf4j
 public class Indexer {
     private final LdpClient client = new LdpClientImpl();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
     private static final JenaRDF rdf = new JenaRDF();
+    private static final ExtractorService extractorService = new ExtractorService();
 
     public Indexer() {
     }
@@ -102,89 +115,122 @@ public class Indexer {
         }
     }
 
+    /**
+     * Extracts the metadata of a manifest in process.
+     *
+     * @param iri IRI of the manifest
+     * @return MetadataMap, or null if the manifest has no thumbnail
+     */
     public MetadataMap getMetadataMap(IRI iri) {
+        return extractorService.extract(iri.getIRIString()).orElse(null);
+    }
+
+    /**
+     * Requests the atoms of a disassembled manifest as NDJSON and maps each line as it arrives, so indexing can
+     * start while the extractor is still disassembling. An extractor that does not answer with NDJSON is read as
+     * a whole AtomList.
+     *
+     * @param iri IRI of the disassembled manifest
+     * @return the atoms, to be closed after use
+     * @throws IOException IOException
+     */
+    private Stream<AnnotationBodyAtom> streamAtoms(IRI iri) throws IOException {
+        final HttpRequest req = HttpRequest.newBuilder(URI.create(iri.getIRIString())).header(
+                "Accept", contentTypeNdJson).GET().build();
+        final HttpResponse<Stream<String>> res;
         try {
-            final String extractorService = "http://localhost:9098/extractor?type=extract&m=";
-            final String extractorRequest = extractorService + iri.getIRIString();
-            final IRI req = rdf.createIRI(extractorRequest);
-            final HttpResponse<?> res = client.getResponse(req);
-            if (res.statusCode() == 200) {
-                final String json = res.body().toString();
-                return MAPPER.readValue(json, new TypeReference<MetadataMap>() {
-                });
+            res = httpClient.send(req, HttpResponse.BodyHandlers.ofLines());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        if (res.statusCode() != 200) {
+            res.body().close();
+            log.error("Could not get atoms from {}: HTTP {}", iri.getIRIString(), res.statusCode());
+            return Stream.empty();
+        }
+        final boolean ndjson = res.headers().firstValue("Content-Type").filter(
+                t -> t.contains(contentTypeNdJson)).isPresent();
+        if (!ndjson) {
+            try (Stream<String> lines = res.body()) {
+                final AtomList atomList = MAPPER.readValue(lines.collect(Collectors.joining("\n")),
+                        new TypeReference<AtomList>() {
+                        });
+                return ofNullable(atomList.getAtomList()).map(List::stream).orElse(Stream.empty());
             }
-        } catch (LdpClientException | IOException e) {
-            throw new RuntimeException(e.getMessage());
         }
-        return null;
+        return res.body().filter(line -> !line.isBlank()).map(line -> {
+            try {
+                return MAPPER.readValue(line, AnnotationBodyAtom.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
     public void putJsonAtomsElasticBulk(IRI iri, String indexName) {
         final Indexer indexer = new Indexer();
-        final String bulkUri = elasticSearchHost + bulkContext;
+        final URI bulkUri = URI.create(elasticSearchHost + bulkContext);
 
-        final StringBuffer sb = new StringBuffer();
-        try {
-            final HttpResponse<?> res = client.getResponse(iri);
-            if (res.statusCode() == 200) {
-                final String jsonList = res.body().toString();
-                final AtomList atomList = MAPPER.readValue(jsonList, new TypeReference<AtomList>() {
-                });
-                final List<AnnotationBodyAtom> m = atomList.getAtomList();
-                m.forEach(map -> {
-                    log.info("indexing {}", map.getThumbnail());
-                    ElasticCreate c = indexer.createDocument(indexName, getDocumentId());
-                    sb.append(JsonSerializer.serializeRaw(c).orElse(""));
-                    sb.append(System.lineSeparator());
-                    sb.append(JsonSerializer.serializeRaw(map.getMetadata()).orElse(""));
-                    sb.append(System.lineSeparator());
-                });
-                log.debug(sb.toString());
-                final InputStream is = new ByteArrayInputStream(sb.toString().getBytes());
-                client.post(rdf.createIRI(bulkUri), is, contentTypeJson);
-            }
-        } catch (IOException | LdpClientException e) {
+        try (Stream<AnnotationBodyAtom> atoms = streamAtoms(iri);
+             BulkIndexer bulk = new BulkIndexer(bulkUri)) {
+            atoms.forEach(map -> {
+                log.info("indexing {}", map.getThumbnail());
+                ElasticCreate c = indexer.createDocument(indexName, getDocumentId());
+                bulk.add(c, map.getMetadata());
+            });
+        } catch (IOException | UncheckedIOException e) {
             log.error(e.getMessage());
         }
     }
 
     public void putModernContentAtoms(IRI iri, String indexName) {
+        putModernContentAtoms(iri, indexName, null, scanConcurrency);
+    }
+
+    /**
+     * Indexes the atoms of a manifest dated after 1900 together with their OCR content. The atoms are filtered,
+     * scanned concurrently (at most {@code concurrency} scans run ahead of the bulk writer) and then bulk indexed.
+     * Finished scans are recorded in the checkpoint, if given, and reused when the job is run again.
+     *
+     * @param iri IRI of the disassembled manifest
+     * @param indexName String
+     * @param checkpoint Path, may be null
+     * @param concurrency int
+     */
+    public void putModernContentAtoms(IRI iri, String indexName, Path checkpoint, int concurrency) {
         final Indexer indexer = new Indexer();
-        final String bulkUri = elasticSearchHost + bulkContext;
+        final URI bulkUri = URI.create(elasticSearchHost + bulkContext);
+        final StageMetrics filterStage = new StageMetrics("filter");
+        final StageMetrics scanStage = new StageMetrics("scan");
+        final StageMetrics indexStage = new StageMetrics("index");
 
-        final StringBuffer sb = new StringBuffer();
-        try {
-            final HttpResponse<?> res = client.getResponse(iri);
-            if (res.statusCode() == 200) {
-                final String jsonList = res.body().toString();
-                final AtomList atomList = MAPPER.readValue(jsonList, new TypeReference<AtomList>() {
-                });
-                final List<AnnotationBodyAtom> m = atomList.getAtomList();
-                final List<AnnotationBodyAtom> modernList = m.stream().collect(Collectors.filtering(
-                        x -> (Boolean) x.getMetadata().entrySet().stream().anyMatch(
-                                y -> y.getKey().contains("Date") && Integer.parseInt((String) y.getValue()) > 1900),
-                        Collectors.toList()));
-                if (!modernList.isEmpty()) {
-                    modernList.forEach(map -> {
-                        ElasticCreate c = indexer.createDocument(indexName, getDocumentId());
-                        sb.append(JsonSerializer.serializeRaw(c).orElse(""));
-                        sb.append(System.lineSeparator());
-                        log.info("Scanning Image {}", map.getThumbnail());
-                        IRI scannerApi = rdf.createIRI(
-                                scannerAPIHost + "?type=scan&lang=deu&image=" + map.getThumbnail());
-                        List<ContentList.Content> cList = getContentList(scannerApi).getContentList();
-                        map.setContentList(cList);
-                        sb.append(JsonSerializer.serializeRaw(map).orElse(""));
-                        sb.append(System.lineSeparator());
+        try (ScanCheckpoint scans = checkpoint == null ? null : new ScanCheckpoint(checkpoint);
+             Stream<AnnotationBodyAtom> atoms = streamAtoms(iri)) {
+            final Iterator<AnnotationBodyAtom> modernAtoms = atoms.filter(
+                    x -> filterStage.time(() -> x.getMetadata().entrySet().stream().anyMatch(
+                            y -> y.getKey().contains("Date") && Integer.parseInt((String) y.getValue()) > 1900)))
+                    .iterator();
+            final ContentScanner scanner = new ContentScanner(this::scanImage, scans, scanStage);
+            try (BulkIndexer bulk = new BulkIndexer(bulkUri);
+                 PrefetchIterator<AnnotationBodyAtom, Optional<AnnotationBodyAtom>> scanned = scanner.scanAll(
+                         modernAtoms, concurrency)) {
+                scanned.forEachRemaining(result -> result.ifPresentOrElse(map -> {
+                    ElasticCreate c = indexer.createDocument(indexName, getDocumentId());
+                    indexStage.time(() -> {
+                        bulk.add(c, map);
+                        return map;
                     });
-                    log.debug(sb.toString());
-                    final InputStream is = new ByteArrayInputStream(sb.toString().getBytes());
-                    client.post(rdf.createIRI(bulkUri), is, contentTypeJson);
-                }
+                }, indexStage::error));
             }
-        } catch (IOException | LdpClientException e) {
+        } catch (IOException | UncheckedIOException e) {
             log.error(e.getMessage());
         }
+        log.info("{}; {}; {}", filterStage, scanStage, indexStage);
+    }
+
+    private ContentList scanImage(final String image) {
+        return getContentList(rdf.createIRI(scannerAPIHost + "?type=scan&lang=deu&image=" + image));
     }
 
     public ContentList getContentList(IRI iri) {
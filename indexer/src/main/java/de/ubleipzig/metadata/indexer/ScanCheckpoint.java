@@ -0,0 +1,105 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.indexer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import de.ubleipzig.metadata.processor.AppendLog;
+import de.ubleipzig.metadata.templates.ContentList;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static de.ubleipzig.metadata.processor.JsonSerializer.MAPPER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * ScanCheckpoint.
+ *
+ * <p>An append-only NDJSON log of finished OCR scans, one {@code {"image": ..., "contentList": [...]}} line per
+ * image. Reopening the log after a crash restores the scans so the images are not sent to the scanner again.
+ * A line truncated by the crash is ignored and ended, so the next scan is appended on a line of its own.</p>
+ */
+@Slf4j
+public class ScanCheckpoint implements AutoCloseable {
+
+    private static final TypeReference<List<ContentList.Content>> CONTENT = new TypeReference<>() {
+    };
+    private final Map<String, List<ContentList.Content>> scans = new ConcurrentHashMap<>();
+    private final BufferedWriter writer;
+
+    /**
+     * @param file Path
+     * @throws IOException Exception
+     */
+    public ScanCheckpoint(final Path file) throws IOException {
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    try {
+                        final JsonNode scan = MAPPER.readTree(line);
+                        scans.put(scan.get("image").asText(), MAPPER.convertValue(scan.get("contentList"), CONTENT));
+                    } catch (IOException | RuntimeException e) {
+                        log.warn("Ignoring unreadable checkpoint entry in {}", file);
+                    }
+                }
+            }
+            log.info("Restored {} scans from {}", scans.size(), file);
+        }
+        this.writer = AppendLog.open(file);
+    }
+
+    /**
+     * @param image String
+     * @return the content list of a finished scan
+     */
+    public Optional<List<ContentList.Content>> get(final String image) {
+        return Optional.ofNullable(scans.get(image));
+    }
+
+    /**
+     * @param image String
+     * @param contentList List
+     */
+    public synchronized void put(final String image, final List<ContentList.Content> contentList) {
+        final Map<String, Object> scan = new LinkedHashMap<>();
+        scan.put("image", image);
+        scan.put("contentList", contentList);
+        try {
+            writer.write(MAPPER.writeValueAsString(scan));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        scans.put(image, contentList == null ? List.of() : contentList);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.indexer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.ubleipzig.metadata.processor.JsonSerializer.MAPPER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkIndexerTest {
+
+    private HttpServer server;
+    private final Set<String> indexed = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+    private final AtomicInteger maxDocsPerRequest = new AtomicInteger();
+
+    /**
+     * A _bulk stub that rejects every document with 429 on its first attempt and with 400 if its id is "bad".
+     */
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/_bulk", exchange -> {
+            final StringBuilder items = new StringBuilder();
+            boolean errors = false;
+            int docs = 0;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(exchange.getRequestBody(), UTF_8))) {
+                String action;
+                while ((action = reader.readLine()) != null) {
+                    final JsonNode doc = MAPPER.readTree(reader.readLine());
+                    final String id = doc.get("id").asText();
+                    final int attempt = attempts.merge(id, 1, Integer::sum);
+                    final int status = id.equals("bad") ? 400 : attempt == 1 ? 429 : 201;
+                    if (status == 201) {
+                        indexed.add(id);
+                    } else {
+                        errors = true;
+                    }
+                    items.append(items.length() == 0 ? "" : ",").append("{\"create\":{\"status\":").append(status)
+                            .append("}}");
+                    docs++;
+                }
+            }
+            maxDocsPerRequest.accumulateAndGet(docs, Math::max);
+            final byte[] body = ("{\"errors\":" + errors + ",\"items\":[" + items + "]}").getBytes(UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void testBulkIndexingWithRetries() {
+        final Indexer indexer = new Indexer();
+        final URI bulkUri = URI.create("http://localhost:" + server.getAddress().getPort() + "/_bulk");
+        final BulkIndexer bulk = new BulkIndexer(bulkUri, 1024 * 1024, 25, 3, 2);
+        try (bulk) {
+            for (int i = 0; i < 500; i++) {
+                bulk.add(indexer.createDocument("test", String.valueOf(i)), Map.of("id", String.valueOf(i)));
+            }
+            bulk.add(indexer.createDocument("test", "bad"), Map.of("id", "bad"));
+        }
+        assertEquals(500, indexed.size());
+        assertEquals(500, bulk.getIndexedCount());
+        assertEquals(1, bulk.getFailedCount());
+        assertEquals(500, bulk.getRetriedCount());
+        assertTrue(maxDocsPerRequest.get() <= 25);
+    }
+}
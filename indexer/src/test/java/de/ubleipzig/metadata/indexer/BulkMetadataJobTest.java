@@ -0,0 +1,103 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.indexer;
+
+import de.ubleipzig.metadata.processor.StageMetrics;
+import de.ubleipzig.metadata.templates.MetadataMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static de.ubleipzig.metadata.processor.JsonSerializer.MAPPER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkMetadataJobTest {
+
+    private static final List<String> IDS = List.of("m1", "bad", "m2", "empty", "m3", "m4", "m5");
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final Function<String, MetadataMap> extractor = id -> {
+        calls.incrementAndGet();
+        if (id.equals("bad")) {
+            throw new RuntimeException("unavailable");
+        }
+        final MetadataMap map = new MetadataMap();
+        map.setMetadataMap(id.equals("empty") ? Map.of() : Map.of("manifest", id));
+        return map;
+    };
+
+    private List<String> read(final Path file) throws Exception {
+        return Files.readAllLines(file, UTF_8).stream().map(l -> {
+            try {
+                return MAPPER.readValue(l, MetadataMap.class).getMetadataMap().get("manifest").toString();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }).collect(Collectors.toList());
+    }
+
+    @Test
+    void testPartitionsAreWrittenInOrder(@TempDir final Path dir) throws Exception {
+        final BulkMetadataJob job = new BulkMetadataJob(extractor, dir, 3, 4);
+        final Map<Integer, StageMetrics> metrics = job.run(IDS);
+        assertEquals(3, metrics.size());
+        assertEquals(List.of("m1", "m2"), read(job.getPartitionFile(0)));
+        assertEquals(List.of("m3", "m4"), read(job.getPartitionFile(1)));
+        assertEquals(List.of("m5"), read(job.getPartitionFile(2)));
+        assertEquals(1, metrics.get(0).getErrors());
+        assertEquals(2, metrics.get(0).getItems());
+        assertEquals(3, metrics.get(1).getItems());
+        assertFalse(Files.exists(dir.resolve("metadata-0.ndjson.tmp")));
+        assertEquals(3, Files.readAllLines(dir.resolve(BulkMetadataJob.PARTITIONS)).size());
+    }
+
+    @Test
+    void testManifestsWithoutMetadataAreNotErrors(@TempDir final Path dir) throws Exception {
+        final BulkMetadataJob job = new BulkMetadataJob(id -> id.equals("none") ? null : extractor.apply(id), dir,
+                3, 4);
+        final Map<Integer, StageMetrics> metrics = job.run(List.of("m1", "none", "m2"));
+        assertEquals(List.of("m1", "m2"), read(job.getPartitionFile(0)));
+        assertEquals(0, metrics.get(0).getErrors());
+        assertEquals(3, metrics.get(0).getItems());
+    }
+
+    @Test
+    void testRestartSkipsFinishedPartitions(@TempDir final Path dir) throws Exception {
+        new BulkMetadataJob(extractor, dir, 3, 4).run(IDS);
+        calls.set(0);
+        Files.delete(dir.resolve("metadata-1.ndjson"));
+        //a manifest entry truncated by a crash
+        Files.write(dir.resolve(BulkMetadataJob.PARTITIONS), "{\"partition\":2,".getBytes(UTF_8), APPEND);
+
+        final BulkMetadataJob job = new BulkMetadataJob(extractor, dir, 3, 4);
+        final Map<Integer, StageMetrics> metrics = job.run(IDS);
+        assertEquals(List.of(1), List.copyOf(metrics.keySet()));
+        assertEquals(3, calls.get());
+        assertEquals(List.of("m3", "m4"), read(job.getPartitionFile(1)));
+        assertTrue(job.run(IDS).isEmpty());
+        assertEquals(3, calls.get());
+    }
+}
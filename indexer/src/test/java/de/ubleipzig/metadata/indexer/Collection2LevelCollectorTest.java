@@ -16,6 +16,8 @@ package de.ubleipzig.metadata.indexer;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ubleipzig.metadata.harvester.CollectionMember;
+import de.ubleipzig.metadata.harvester.Harvester;
 import de.ubleipzig.metadata.processor.JsonSerializer;
 import de.ubleipzig.metadata.templates.BodleianMetadataMap;
 import de.ubleipzig.metadata.templates.collections.*;
@@ -31,10 +33,13 @@ import org.trellisldp.client.LdpClientImpl;
 import java.io.File;
 import java.io.IOException;
 import java.net.http.HttpResponse;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static java.util.Optional.ofNullable;
 
@@ -48,71 +53,49 @@ public class Collection2LevelCollectorTest {
     private static final String baseUrl = "http://localhost:9098/extractor?type=extract&m=";
 
     @Test
-    void buildCollectionsFromJson() {
-        final IRI rootCollectionIRI = rdf.createIRI(
-                "https://iiif.durham.ac.uk/manifests/trifle/collection/32150/t2cqj72p712g");
-        try {
-            final HttpResponse<?> res = client.getResponse(rootCollectionIRI);
-            if (res.statusCode() == 200 | res.statusCode() == 301) {
-                final String json = res.body().toString();
-                final CollectionList collections = MAPPER.readValue(json, new TypeReference<CollectionList>() {
+    void buildCollectionsFromJson() throws IOException {
+        final Harvester harvester = new Harvester();
+        final Map<String, BodleianMapListCollection> mapListCollections = new LinkedHashMap<>();
+        try (Stream<CollectionMember> members = harvester.harvestWithCollections(
+                List.of("https://iiif.durham.ac.uk/manifests/trifle/collection/32150/t2cqj72p712g"),
+                Paths.get("/tmp/beasely-manifests.checkpoint"))) {
+            members.forEach(member -> {
+                final ManifestItem c = member.getCollection();
+                final ManifestItem m = member.getManifest();
+                final BodleianMapListCollection l = mapListCollections.computeIfAbsent(c.getId(), id -> {
+                    final BodleianMapListCollection collection = new BodleianMapListCollection();
+                    collection.setMapListCollection(new ArrayList<>());
+                    collection.setId(id);
+                    collection.setLabel(c.getLabel());
+                    return collection;
                 });
-                final List<ManifestItem> cList = collections.getCollections();
-                final BodleianRootCollection rootCollection = new BodleianRootCollection();
-                final List<de.ubleipzig.metadata.templates.collections.BodleianMapListCollection> mapListCollections
-                        = new ArrayList<>();
-                cList.forEach(c -> {
-                    final String cid = c.getId();
-                    final String label = c.getLabel();
-                    final IRI cIRI = rdf.createIRI(cid);
-                    try {
-                        final HttpResponse<?> res1 = client.getResponse(cIRI);
-                        if (res1.statusCode() == 200 | res1.statusCode() == 301) {
-                            final String json1 = res1.body().toString();
-                            final ManifestList subcollections = MAPPER.readValue(
-                                    json1, new TypeReference<ManifestList>() {
-                                    });
-                            final Optional<List<ManifestItem>> manifestList = ofNullable(subcollections.getManifests());
-                            List<BodleianMetadataMap> finalMapList = new ArrayList<>();
-                            if (manifestList.isPresent()) {
-                                for (ManifestItem m : manifestList.get()) {
-                                    final IRI identifier = rdf.createIRI(m.getId());
-                                    final IRI apiReq = rdf.createIRI(baseUrl + identifier.getIRIString());
-                                    final HttpResponse<?> res3 = client.getResponse(apiReq);
-                                    if (res3.statusCode() == 200 | res3.statusCode() == 301) {
-                                        final String json3 = res3.body().toString();
-                                        final Optional<BodleianMetadataMap> metadataMap = ofNullable(
-                                                buildMetadataMap(json3));
-                                        if (metadataMap.isPresent()) {
-                                            final BodleianMetadataMap map = metadataMap.get();
-                                            Map<Object, Object> metadata = map.getMetadataMap();
-                                            metadata.put("collection", label);
-                                            metadata.put("manifest", m.getId());
-                                            map.setMetadataMap(metadata);
-                                            finalMapList.add(map);
-                                            log.info("adding {} from collection {} to indexable metadata",
-                                                    identifier.getIRIString(), label);
-                                        }
-                                    }
-                                }
-                            }
-                            final BodleianMapListCollection l = new BodleianMapListCollection();
-                            l.setMapListCollection(finalMapList);
-                            l.setId(c.getId());
-                            l.setLabel(c.getLabel());
-                            mapListCollections.add(l);
+                final IRI identifier = rdf.createIRI(m.getId());
+                final IRI apiReq = rdf.createIRI(baseUrl + identifier.getIRIString());
+                try {
+                    final HttpResponse<?> res = client.getResponse(apiReq);
+                    if (res.statusCode() == 200 | res.statusCode() == 301) {
+                        final Optional<BodleianMetadataMap> metadataMap = ofNullable(
+                                buildMetadataMap(res.body().toString()));
+                        if (metadataMap.isPresent()) {
+                            final BodleianMetadataMap map = metadataMap.get();
+                            Map<Object, Object> metadata = map.getMetadataMap();
+                            metadata.put("collection", c.getLabel());
+                            metadata.put("manifest", m.getId());
+                            map.setMetadataMap(metadata);
+                            l.getMapListCollection().add(map);
+                            log.info("adding {} from collection {} to indexable metadata",
+                                    identifier.getIRIString(), c.getLabel());
                         }
-                    } catch (LdpClientException | IOException e) {
-                        log.error(e.getMessage());
                     }
-                });
-                rootCollection.setRootCollection(mapListCollections);
-                final String out = JsonSerializer.serialize(rootCollection).orElse("");
-                JsonSerializer.writeToFile(out, new File("/tmp/beasely.json"));
-            }
-        } catch (LdpClientException | IOException e) {
-            log.error(e.getMessage());
+                } catch (LdpClientException e) {
+                    log.error(e.getMessage());
+                }
+            });
         }
+        final BodleianRootCollection rootCollection = new BodleianRootCollection();
+        rootCollection.setRootCollection(new ArrayList<>(mapListCollections.values()));
+        final String out = JsonSerializer.serialize(rootCollection).orElse("");
+        JsonSerializer.writeToFile(out, new File("/tmp/beasely.json"));
     }
 
     public BodleianMetadataMap buildMetadataMap(final String json) {
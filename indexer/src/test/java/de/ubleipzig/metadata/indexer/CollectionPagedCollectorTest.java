@@ -16,43 +16,37 @@ package de.ubleipzig.metadata.indexer;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ubleipzig.metadata.harvester.Harvester;
 import de.ubleipzig.metadata.processor.JsonSerializer;
 import de.ubleipzig.metadata.templates.MapListCollection;
 import de.ubleipzig.metadata.templates.MetadataMap;
 import de.ubleipzig.metadata.templates.collections.ManifestItem;
 import de.ubleipzig.metadata.templates.collections.PagedCollection;
 import de.ubleipzig.metadata.templates.collections.RootCollection;
-import de.ubleipzig.metadata.templates.collections.TopCollection;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.jena.commonsrdf.JenaRDF;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.trellisldp.client.LdpClient;
-import org.trellisldp.client.LdpClientException;
-import org.trellisldp.client.LdpClientImpl;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.http.HttpResponse;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
 @Disabled
 @Slf4j
 public class CollectionPagedCollectorTest {
 
-    private final LdpClient client = new LdpClientImpl();
     private static final JenaRDF rdf = new JenaRDF();
     private static final ObjectMapper MAPPER = new ObjectMapper();
-    private static final String baseUrl = "http://localhost:9098/extractor?type=extract&m=";
     private final Indexer indexer = new Indexer();
     private static final Logger LOGGER = LoggerFactory.getLogger(CollectionPagedCollectorTest.class);
 
@@ -61,116 +55,36 @@ public class CollectionPagedCollectorTest {
         final List<ManifestItem> sublist = manifestList.subList(195000, 209500);
         for (ManifestItem m : sublist) {
             final IRI identifier = rdf.createIRI(m.getId());
-            final IRI apiReq = rdf.createIRI(baseUrl + identifier.getIRIString());
-            final HttpResponse<?> res3;
             try {
-                res3 = client.getResponse(apiReq);
-                if (res3.statusCode() == 200 | res3.statusCode() == 301) {
-                    final String json3 = res3.body().toString();
-                    final MetadataMap metadataMap = indexer.buildMetadataMap(json3);
+                final MetadataMap metadataMap = indexer.getMetadataMap(identifier);
+                if (metadataMap != null) {
                     Map<String, Object> metadata = metadataMap.getMetadataMap();
                     metadata.put("manifest", m.getId());
                     metadataMap.setMetadataMap(metadata);
                     metadataMapList.add(metadataMap);
                     LOGGER.info("adding {} to indexable metadata", identifier.getIRIString());
                 }
-            } catch (LdpClientException e) {
+            } catch (RuntimeException e) {
                 log.error(e.getMessage());
             }
         }
         return metadataMapList;
     }
 
-    private Iterable<ManifestItem> concatManifestListAsIterable(List<ManifestItem> listA, List<ManifestItem> listB) {
-        return CollectionUtils.union(listA, listB);
-    }
-
-    private String getJsonResponse(final IRI cIRI) {
-        final HttpResponse<?> res1;
-        try {
-            res1 = client.getResponse(cIRI);
-            if (res1.statusCode() == 200 | res1.statusCode() == 301) {
-                return res1.body().toString();
-            }
-        } catch (LdpClientException e) {
-            log.error(e.getMessage());
-        }
-        throw new RuntimeException("request failed");
-    }
-
     @Test
     void buildCollectionManifestList() throws IOException {
-        final IRI rootCollectionIRI = rdf.createIRI("https://iiif.harvardartmuseums.org/collections/top");
-        final String json = getJsonResponse(rootCollectionIRI);
-        final TopCollection collections = MAPPER.readValue(json, new TypeReference<TopCollection>() {
-        });
-        final List<PagedCollection> cList = collections.getMembers();
-        for (PagedCollection c : cList) {
-            final String collectionId = c.getId();
-            final IRI cIRI0 = rdf.createIRI(collectionId);
-            final String json0 = getJsonResponse(cIRI0);
-            final PagedCollection subTop = MAPPER.readValue(json0, new TypeReference<PagedCollection>() {
-            });
-            final Integer total = subTop.getTotal();
-            final int loops = total / 100;
-            //final int loops = 10;
-            String nextId = null;
-            List<ManifestItem> manifestList = null;
-            Iterable<ManifestItem> items = null;
-            List<ManifestItem> itemList = null;
-            for (int i = 0; i < loops; i++) {
-                String firstId;
-                if (i == 0) {
-                    firstId = subTop.getFirst();
-                    final IRI cIRI = rdf.createIRI(firstId);
-                    final String json1 = getJsonResponse(cIRI);
-                    final PagedCollection subCollections = MAPPER.readValue(
-                            json1, new TypeReference<PagedCollection>() {
-                            });
-                    manifestList = subCollections.getManifests();
-                    nextId = subCollections.getNext();
-                } else if (i == 1) {
-                    final IRI cIRI1 = rdf.createIRI(nextId);
-                    final String json2 = getJsonResponse(cIRI1);
-                    final PagedCollection subCollectionsNext = MAPPER.readValue(
-                            json2, new TypeReference<PagedCollection>() {
-                            });
-                    List<ManifestItem> subC = subCollectionsNext.getManifests();
-                    items = concatManifestListAsIterable(manifestList, subC);
-                    nextId = subCollectionsNext.getNext();
-                } else {
-                    final IRI cIRI12 = rdf.createIRI(nextId);
-                    final String json3 = getJsonResponse(cIRI12);
-                    final PagedCollection subCollectionsNext = MAPPER.readValue(
-                            json3, new TypeReference<PagedCollection>() {
-                            });
-                    final List<ManifestItem> subC = subCollectionsNext.getManifests();
-                    if (items != null) {
-                        itemList = StreamSupport.stream(items.spliterator(), false).collect(Collectors.toList());
-                    }
-                    items = concatManifestListAsIterable(itemList, subC);
-                    nextId = subCollectionsNext.getNext();
-                }
-            }
-            if (items != null) {
-                List<ManifestItem> finalManifestList = StreamSupport.stream(items.spliterator(), false).collect(
-                        Collectors.toList());
-                final PagedCollection manifestListTemp = new PagedCollection();
-                manifestListTemp.setManifests(finalManifestList);
-                final String manifests = JsonSerializer.serialize(manifestListTemp).orElse("");
-                JsonSerializer.writeToFile(manifests, new File("/tmp/harvardArt-manifests.json"));
-                /**
-                 final List<MetadataMap> finalMapList = buildMetadataMapList(finalManifestList);
-                 final MapListCollection l = new MapListCollection();
-                 l.setMapListCollection(finalMapList);
-                 l.setId(c.getId());
-                 mapListCollections.add(l);
-                 rootCollection.setRootCollection(mapListCollections);
-                 final String out = JsonSerializer.serialize(rootCollection).orElse("");
-                 JsonSerializer.writeToFile(out, new File("/tmp/harvardArt-metadata.json"));
-                 **/
-            }
+        final Harvester harvester = new Harvester();
+        final List<ManifestItem> finalManifestList;
+        try (Stream<ManifestItem> manifests = harvester.harvest(
+                List.of("https://iiif.harvardartmuseums.org/collections/top"),
+                Paths.get("/tmp/harvardArt-manifests.checkpoint"))) {
+            finalManifestList = manifests.collect(Collectors.toList());
         }
+        LOGGER.info(harvester.getMetrics().toString());
+        final PagedCollection manifestListTemp = new PagedCollection();
+        manifestListTemp.setManifests(finalManifestList);
+        final String manifests = JsonSerializer.serialize(manifestListTemp).orElse("");
+        JsonSerializer.writeToFile(manifests, new File("/tmp/harvardArt-manifests.json"));
     }
 
     @Test
@@ -0,0 +1,159 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.indexer;
+
+import de.ubleipzig.metadata.processor.PrefetchIterator;
+import de.ubleipzig.metadata.processor.StageMetrics;
+import de.ubleipzig.metadata.templates.ContentList;
+import de.ubleipzig.metadata.templates.atomic.AnnotationBodyAtom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static de.ubleipzig.metadata.processor.JsonSerializer.MAPPER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ContentScannerTest {
+
+    @TempDir
+    Path dir;
+
+    private static AnnotationBodyAtom atom(final String thumbnail) {
+        final AnnotationBodyAtom atom = new AnnotationBodyAtom();
+        atom.setThumbnail(thumbnail);
+        return atom;
+    }
+
+    private static ContentList contentList(final String chars) {
+        try {
+            return MAPPER.readValue("{\"contentList\":[{\"chars\":\"" + chars + "\"}]}", ContentList.class);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static List<Optional<AnnotationBodyAtom>> scanAll(final ContentScanner scanner,
+                                                               final List<AnnotationBodyAtom> atoms) {
+        final List<Optional<AnnotationBodyAtom>> results = new ArrayList<>();
+        scanner.scanAll(atoms.iterator(), 2).forEachRemaining(results::add);
+        return results;
+    }
+
+    @Test
+    void testResumeSkipsCheckpointedScans() throws IOException {
+        final Path file = dir.resolve("scans.ndjson");
+        final List<String> scanned = new ArrayList<>();
+        final Function<String, ContentList> scanner = image -> {
+            synchronized (scanned) {
+                scanned.add(image);
+            }
+            return contentList("text of " + image);
+        };
+        try (ScanCheckpoint scans = new ScanCheckpoint(file)) {
+            scanAll(new ContentScanner(scanner, scans, new StageMetrics("scan")), List.of(atom("a"), atom("b")));
+        }
+        scanned.clear();
+
+        final StageMetrics stage = new StageMetrics("scan");
+        final List<Optional<AnnotationBodyAtom>> results;
+        try (ScanCheckpoint scans = new ScanCheckpoint(file)) {
+            results = scanAll(new ContentScanner(scanner, scans, stage), List.of(atom("a"), atom("b"), atom("c")));
+        }
+        assertEquals(List.of("c"), scanned);
+        assertEquals(List.of("text of a", "text of b", "text of c"), results.stream()
+                .map(r -> r.orElseThrow().getContentList().get(0).getChars()).collect(Collectors.toList()));
+        assertEquals(3, stage.getItems());
+    }
+
+    @Test
+    void testFailedScansAreNotCheckpointed() throws IOException {
+        final Path file = dir.resolve("scans.ndjson");
+        final StageMetrics stage = new StageMetrics("scan");
+        final List<Optional<AnnotationBodyAtom>> results;
+        try (ScanCheckpoint scans = new ScanCheckpoint(file)) {
+            final ContentScanner scanner = new ContentScanner(
+                    image -> image.equals("b") ? null : contentList(image), scans, stage);
+            results = scanAll(scanner, List.of(atom("a"), atom("b"), atom("c")));
+        }
+        assertTrue(results.get(0).isPresent());
+        assertFalse(results.get(1).isPresent());
+        assertTrue(results.get(2).isPresent());
+        assertEquals(2, stage.getItems());
+        assertEquals(1, stage.getErrors());
+
+        try (ScanCheckpoint scans = new ScanCheckpoint(file)) {
+            assertTrue(scans.get("a").isPresent());
+            assertFalse(scans.get("b").isPresent());
+            assertTrue(scans.get("c").isPresent());
+        }
+    }
+
+    @Test
+    void testScansRunAtMostWindowAhead() throws InterruptedException {
+        final int window = 3;
+        final AtomicInteger pulled = new AtomicInteger();
+        final Iterator<AnnotationBodyAtom> source = IntStream.range(0, 20).mapToObj(i -> atom("img" + i)).iterator();
+        final Iterator<AnnotationBodyAtom> counting = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public AnnotationBodyAtom next() {
+                pulled.incrementAndGet();
+                return source.next();
+            }
+        };
+        final Set<String> started = ConcurrentHashMap.newKeySet();
+        final CountDownLatch windowFull = new CountDownLatch(window);
+        final ContentScanner scanner = new ContentScanner(image -> {
+            started.add(image);
+            windowFull.countDown();
+            return contentList(image);
+        }, null, new StageMetrics("scan"));
+
+        int consumed = 0;
+        try (PrefetchIterator<AnnotationBodyAtom, Optional<AnnotationBodyAtom>> scanned = scanner.scanAll(
+                counting, window)) {
+            assertTrue(windowFull.await(5, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            assertEquals(window, pulled.get());
+            assertEquals(window, started.size());
+            while (scanned.hasNext()) {
+                assertTrue(scanned.next().isPresent());
+                consumed++;
+                assertTrue(pulled.get() <= consumed + window);
+            }
+        }
+        assertEquals(20, consumed);
+    }
+}
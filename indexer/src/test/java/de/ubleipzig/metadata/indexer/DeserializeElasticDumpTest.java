@@ -16,6 +16,7 @@ package de.ubleipzig.metadata.indexer;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.ubleipzig.metadata.processor.JsonSerializer;
+import de.ubleipzig.metadata.processor.UUIDv5;
 import de.ubleipzig.metadata.templates.collections.ManifestUUIDMap;
 import de.ubleipzig.metadata.templates.indexer.ElasticDocumentObjectDeserialize;
 import lombok.extern.slf4j.Slf4j;
@@ -0,0 +1,53 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.indexer;
+
+import de.ubleipzig.metadata.templates.ContentList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScanCheckpointTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testScanAfterTruncatedEntrySurvivesRestart() throws Exception {
+        final Path file = dir.resolve("scans.ndjson");
+        //a crash while writing the entry for b
+        Files.writeString(file, "{\"image\":\"a\",\"contentList\":[]}\n{\"image\":\"b\",\"conte", UTF_8);
+        try (ScanCheckpoint scans = new ScanCheckpoint(file)) {
+            assertTrue(scans.get("a").isPresent());
+            assertFalse(scans.get("b").isPresent());
+            final ContentList.Content content = new ContentList.Content();
+            content.setChars("text");
+            scans.put("c", List.of(content));
+        }
+        try (ScanCheckpoint scans = new ScanCheckpoint(file)) {
+            assertTrue(scans.get("a").isPresent());
+            assertFalse(scans.get("b").isPresent());
+            assertEquals("text", scans.get("c").orElseThrow().get(0).getChars());
+        }
+    }
+}
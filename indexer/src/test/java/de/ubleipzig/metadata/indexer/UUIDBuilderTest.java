@@ -3,6 +3,7 @@ package de.ubleipzig.metadata.indexer;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.ubleipzig.metadata.processor.JsonSerializer;
+import de.ubleipzig.metadata.processor.UUIDv5;
 import de.ubleipzig.metadata.templates.collections.MDZIdentifiers;
 import de.ubleipzig.metadata.templates.collections.ManifestItem;
 import de.ubleipzig.metadata.templates.collections.ManifestUUIDMap;
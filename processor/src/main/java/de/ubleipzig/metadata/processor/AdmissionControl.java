@@ -0,0 +1,103 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.processor;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AdmissionControl.
+ *
+ * <p>Bounds the number of exchanges a route works on at once. An exchange that finds all {@code maxConcurrent}
+ * permits taken is answered with 503 and a {@code Retry-After} header and its route is stopped, instead of
+ * being queued behind the others. A permit is released when its exchange completes. Place it first in a
+ * route, before any {@code threads()}.</p>
+ */
+public final class AdmissionControl implements Processor {
+
+    public static final String RETRY_AFTER = "Retry-After";
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdmissionControl.class);
+    private final int maxConcurrent;
+    private final long retryAfter;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param maxConcurrent exchanges processed at once, not bounded if not positive
+     * @param retryAfter seconds a rejected client is asked to wait
+     */
+    public AdmissionControl(final int maxConcurrent, final long retryAfter) {
+        this.maxConcurrent = maxConcurrent;
+        this.retryAfter = retryAfter;
+        this.permits = maxConcurrent > 0 ? new Semaphore(maxConcurrent) : null;
+    }
+
+    /**
+     * @return an AdmissionControl configured by {@code api.maxConcurrent} and {@code api.retryAfter}
+     */
+    public static AdmissionControl fromSystemProperties() {
+        return new AdmissionControl(Integer.getInteger("api.maxConcurrent", 64), Long.getLong("api.retryAfter", 5L));
+    }
+
+    @Override
+    public void process(final Exchange exchange) {
+        if (permits == null) {
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            LOGGER.warn("Rejecting request, {} requests in flight", maxConcurrent);
+            exchange.getIn().removeHeaders("*");
+            exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 503);
+            exchange.getIn().setHeader(RETRY_AFTER, String.valueOf(retryAfter));
+            exchange.getIn().setHeader(Exchange.CONTENT_TYPE, "text/plain");
+            exchange.getIn().setBody("Service Unavailable");
+            exchange.setProperty(Exchange.ROUTE_STOP, Boolean.TRUE);
+            return;
+        }
+        exchange.addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(final Exchange e) {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * @return the number of exchanges holding a permit
+     */
+    public int getInFlight() {
+        return permits == null ? 0 : maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * @return the number of rejected exchanges
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "AdmissionControl{maxConcurrent=" + maxConcurrent + ", inFlight=" + getInFlight() + ", rejected="
+                + getRejectedCount() + "}";
+    }
+}
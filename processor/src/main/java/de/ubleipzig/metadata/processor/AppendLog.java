@@ -0,0 +1,64 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.processor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+/**
+ * AppendLog.
+ *
+ * <p>Opens line based logs, such as NDJSON checkpoints, for appending after a crash.</p>
+ */
+public final class AppendLog {
+
+    private AppendLog() {
+    }
+
+    /**
+     * Opens {@code file} for appending, creating it if needed. A last line left without its newline by a crash
+     * is ended first, so the next entry starts on a line of its own.
+     *
+     * @param file Path
+     * @return BufferedWriter
+     * @throws IOException Exception
+     */
+    public static BufferedWriter open(final Path file) throws IOException {
+        final boolean truncated = Files.exists(file) && !endsWithNewline(file);
+        final BufferedWriter writer = Files.newBufferedWriter(file, UTF_8, CREATE, APPEND);
+        if (truncated) {
+            writer.newLine();
+            writer.flush();
+        }
+        return writer;
+    }
+
+    private static boolean endsWithNewline(final Path file) throws IOException {
+        try (RandomAccessFile f = new RandomAccessFile(file.toFile(), "r")) {
+            if (f.length() == 0) {
+                return true;
+            }
+            f.seek(f.length() - 1);
+            return f.read() == '\n';
+        }
+    }
+}
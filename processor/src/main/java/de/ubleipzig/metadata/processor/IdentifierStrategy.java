@@ -0,0 +1,56 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.processor;
+
+import java.util.UUID;
+
+import static de.ubleipzig.metadata.processor.UUIDv5.NAMESPACE_URL;
+
+/**
+ * IdentifierStrategy.
+ *
+ * <p>Creates the UUID that ends a generated annotation, annotation page or sequence identifier. The name based
+ * strategy derives it from the identifier prefix, which holds the manifest id, the sequence position and the canvas
+ * index, so a rebuilt manifest keeps its identifiers.</p>
+ */
+@FunctionalInterface
+public interface IdentifierStrategy {
+    IdentifierStrategy RANDOM = (prefix, sequence, index) -> UUID.randomUUID();
+    IdentifierStrategy NAME_BASED = (prefix, sequence, index) -> UUIDv5.generator(NAMESPACE_URL).generate(
+            prefix + "/" + sequence + "/" + index);
+
+    /**
+     * @param prefix the identifier without its UUID
+     * @param sequence the position of the sequence in the manifest
+     * @param index the canvas index within the sequence, or 0 for a sequence or manifest level resource
+     * @return UUID
+     */
+    UUID create(String prefix, int sequence, int index);
+
+    /**
+     * @return the strategy set by {@code ids.strategy}, random or uuid5
+     */
+    static IdentifierStrategy fromSystemProperties() {
+        final String strategy = System.getProperty("ids.strategy", "random");
+        switch (strategy) {
+            case "random":
+                return RANDOM;
+            case "uuid5":
+                return NAME_BASED;
+            default:
+                throw new RuntimeException("Unknown ids.strategy " + strategy);
+        }
+    }
+}
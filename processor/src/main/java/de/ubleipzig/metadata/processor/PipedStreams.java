@@ -0,0 +1,111 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.processor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * PipedStreams.
+ *
+ * <p>Runs a writer on a virtual thread and returns the read end of a pipe it writes to, so a response can start
+ * before the document is finished. A writer that fails is not mistaken for a complete document: the reader gets
+ * an {@link IOException} with the cause instead of the end of the stream. Closing the reader interrupts the
+ * writer, which then fails on its next write instead of blocking on the full pipe.</p>
+ *
+ * @author christopher-johnson
+ */
+public final class PipedStreams {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipedStreams.class);
+    private static final int PIPE_SIZE = 1 << 16;
+
+    private PipedStreams() {
+    }
+
+    /**
+     * A document writer.
+     */
+    @FunctionalInterface
+    public interface Writer {
+        /**
+         * @param out OutputStream, closed by the caller
+         * @throws IOException Exception
+         */
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * @param name the writer thread name
+     * @param writer Writer
+     * @return InputStream
+     * @throws IOException Exception
+     */
+    public static InputStream stream(final String name, final Writer writer) throws IOException {
+        final PipedInputStream in = new PipedInputStream(PIPE_SIZE);
+        final PipedOutputStream out = new PipedOutputStream(in);
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final Thread thread = Thread.ofVirtual().name(name).unstarted(() -> {
+            try {
+                writer.write(out);
+            } catch (IOException | RuntimeException e) {
+                //recorded before the pipe is closed, so the reader sees it instead of the end of the stream
+                failure.set(e);
+                LOGGER.error("Could not stream {}: {}", name, e.getMessage());
+            } finally {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Could not close {}: {}", name, e.getMessage());
+                }
+            }
+        });
+        final InputStream reader = new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                return checkEnd(super.read());
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                return checkEnd(super.read(b, off, len));
+            }
+
+            @Override
+            public void close() throws IOException {
+                thread.interrupt();
+                super.close();
+            }
+
+            private int checkEnd(final int n) throws IOException {
+                final Exception e = failure.get();
+                if (n < 0 && e != null) {
+                    throw new IOException("Could not stream " + name + ": " + e.getMessage(), e);
+                }
+                return n;
+            }
+        };
+        thread.start();
+        return reader;
+    }
+}
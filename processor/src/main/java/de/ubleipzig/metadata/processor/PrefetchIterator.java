@@ -0,0 +1,122 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.processor;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * PrefetchIterator.
+ *
+ * <p>Maps a source iterator through a blocking function on virtual threads. At most {@code window}
+ * results are in flight at any time and they are returned in source order, so a slow element holds back
+ * the window rather than reordering the output. The iterator is meant to be consumed by a single thread.</p>
+ *
+ * @param <S> source type
+ * @param <T> result type
+ * @author christopher-johnson
+ */
+public final class PrefetchIterator<S, T> implements Iterator<T>, AutoCloseable {
+
+    private final Iterator<S> source;
+    private final Function<S, T> function;
+    private final int window;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Deque<Future<T>> pending = new ArrayDeque<>();
+
+    /**
+     * @param source Iterator
+     * @param function Function
+     * @param window int
+     */
+    public PrefetchIterator(final Iterator<S> source, final Function<S, T> function, final int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.source = source;
+        this.function = function;
+        this.window = window;
+        fill();
+    }
+
+    /**
+     * @param source Iterable
+     * @param function Function
+     * @param window int
+     * @param <S> source type
+     * @param <T> result type
+     * @return an ordered Stream that cancels outstanding work when closed
+     */
+    public static <S, T> Stream<T> stream(final Iterable<S> source, final Function<S, T> function,
+                                          final int window) {
+        final PrefetchIterator<S, T> it = new PrefetchIterator<>(source.iterator(), function, window);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED), false)
+                .onClose(it::close);
+    }
+
+    private void fill() {
+        while (pending.size() < window && source.hasNext()) {
+            final S s = source.next();
+            pending.add(executor.submit(() -> function.apply(s)));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending.isEmpty()) {
+            executor.shutdown();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        final Future<T> head = pending.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        try {
+            final T result = head.get();
+            fill();
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            close();
+            throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        pending.forEach(f -> f.cancel(true));
+        pending.clear();
+        executor.shutdownNow();
+    }
+}
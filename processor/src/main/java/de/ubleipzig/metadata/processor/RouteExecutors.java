@@ -0,0 +1,66 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.processor;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.support.LifecycleStrategySupport;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * RouteExecutors.
+ *
+ * <p>Executors for the {@code threads()} step of the API routes. Handing an exchange to one of them releases the
+ * Jetty request thread, which suspends the request as a continuation until the exchange completes.</p>
+ */
+public final class RouteExecutors {
+
+    /**
+     * Milliseconds a suspended Jetty request waits for its exchange, never expiring if not positive.
+     */
+    public static final int CONTINUATION_TIMEOUT = Integer.getInteger("api.continuationTimeout", 0);
+
+    private RouteExecutors() {
+    }
+
+    /**
+     * @param name String prefix of the thread names
+     * @return a fixed pool of {@code api.threads} threads, or a virtual thread per exchange if not positive
+     */
+    public static ExecutorService create(final String name) {
+        final int threads = Integer.getInteger("api.threads", 0);
+        if (threads <= 0) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(threads, Thread.ofPlatform().name(name + "-", 0).daemon().factory());
+    }
+
+    /**
+     * @param context CamelContext whose ExecutorServiceManager shuts the executor down once the routes have stopped
+     * @param name String prefix of the thread names
+     * @return a fixed pool of {@code api.threads} threads, or a virtual thread per exchange if not positive
+     */
+    public static ExecutorService create(final CamelContext context, final String name) {
+        final ExecutorService executor = create(name);
+        context.addLifecycleStrategy(new LifecycleStrategySupport() {
+            @Override
+            public void onContextStop(final CamelContext camelContext) {
+                camelContext.getExecutorServiceManager().shutdownGraceful(executor);
+            }
+        });
+        return executor;
+    }
+}
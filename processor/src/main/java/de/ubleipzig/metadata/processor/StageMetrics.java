@@ -0,0 +1,109 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.processor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+
+/**
+ * StageMetrics.
+ *
+ * <p>Thread safe item, error and time counters for one stage of a pipeline or batch job.</p>
+ *
+ * @author christopher-johnson
+ */
+public final class StageMetrics {
+
+    private final String name;
+    private final long started = System.nanoTime();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    /**
+     * @param name String
+     */
+    public StageMetrics(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Runs and times one item of work. An exception counts as an error and is rethrown.
+     *
+     * @param work Supplier
+     * @param <T> result type
+     * @return the result of the work
+     */
+    public <T> T time(final Supplier<T> work) {
+        final long start = System.nanoTime();
+        try {
+            final T result = work.get();
+            items.increment();
+            return result;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            nanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Counts one item.
+     */
+    public void increment() {
+        items.increment();
+    }
+
+    /**
+     * Counts one error.
+     */
+    public void error() {
+        errors.increment();
+    }
+
+    /**
+     * @return items
+     */
+    public long getItems() {
+        return items.sum();
+    }
+
+    /**
+     * @return errors
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return items per second since the stage was created
+     */
+    public double getThroughput() {
+        final long elapsed = System.nanoTime() - started;
+        return elapsed == 0 ? 0 : items.sum() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        final long n = items.sum() + errors.sum();
+        final double avgMillis = n == 0 ? 0 : nanos.sum() / (double) n / TimeUnit.MILLISECONDS.toNanos(1);
+        return format("%s: %d items, %d errors, %.2f items/s, %.1f ms/item", name, getItems(), getErrors(),
+                getThroughput(), avgMillis);
+    }
+}
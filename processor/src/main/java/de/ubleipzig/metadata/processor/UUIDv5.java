@@ -0,0 +1,202 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.ubleipzig.metadata.processor;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.DigestException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * UUIDType5.
+ *
+ * @author christopher-johnson
+ */
+public final class UUIDv5 {
+
+    public static final UUID NAMESPACE_URL = UUID.fromString("6ba7b811-9dad-11d1-80b4-00c04fd430c8");
+    private static final Charset UTF8 = StandardCharsets.UTF_8;
+    private static final ConcurrentHashMap<UUID, Generator> GENERATORS = new ConcurrentHashMap<>();
+
+    private UUIDv5() {
+    }
+
+    /**
+     * nameUUIDFromNamespaceAndString.
+     *
+     * @param namespace namespace
+     * @param name name
+     * @return {@link UUID}
+     */
+    public static UUID nameUUIDFromNamespaceAndString(final UUID namespace, final String name) {
+        return generator(namespace).generate(name);
+    }
+
+    /**
+     * @param algorithm String
+     * @return MessageDigest
+     */
+    public static MessageDigest getDigest(final String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new InternalError(algorithm + " not supported");
+        }
+    }
+
+    /**
+     * nameUUIDFromNamespaceAndBytes.
+     *
+     * @param namespace namespace
+     * @param name name
+     * @return {@link UUID}
+     */
+    public static UUID nameUUIDFromNamespaceAndBytes(final UUID namespace, final byte[] name) {
+        return generator(namespace).generate(name);
+    }
+
+    /**
+     * @param namespace namespace
+     * @return the {@link Generator} for {@code namespace}, which is created once and shared
+     */
+    public static Generator generator(final UUID namespace) {
+        return GENERATORS.computeIfAbsent(Objects.requireNonNull(namespace, "namespace is null"), Generator::new);
+    }
+
+    private static UUID fromSha1Bytes(final byte[] sha1Bytes) {
+        sha1Bytes[6] &= 0x0f;  /* clear version        */
+        sha1Bytes[6] |= 0x50;  /* set to version 5     */
+        sha1Bytes[8] &= 0x3f;  /* clear variant        */
+        sha1Bytes[8] |= 0x80;  /* set to IETF variant  */
+        return fromBytes(sha1Bytes);
+    }
+
+    /**
+     * fromBytes.
+     *
+     * @param data data
+     * @return {@link UUID}
+     */
+    private static UUID fromBytes(final byte[] data) {
+        // Based on the private UUID(bytes[]) constructor
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < 8; i++) {
+            msb = (msb << 8) | (data[i] & 0xff);
+        }
+        for (int i = 8; i < 16; i++) {
+            lsb = (lsb << 8) | (data[i] & 0xff);
+        }
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * toBytes.
+     *
+     * @param uuid {@link UUID}
+     * @return byte[]
+     */
+    private static byte[] toBytes(final UUID uuid) {
+        // inverted logic of fromBytes()
+        final byte[] out = new byte[16];
+        final long msb = uuid.getMostSignificantBits();
+        final long lsb = uuid.getLeastSignificantBits();
+        for (int i = 0; i < 8; i++) {
+            out[i] = (byte) ((msb >> ((7 - i) * 8)) & 0xff);
+        }
+        for (int i = 8; i < 16; i++) {
+            out[i] = (byte) ((lsb >> ((15 - i) * 8)) & 0xff);
+        }
+        return out;
+    }
+
+    /**
+     * Generator.
+     *
+     * <p>Creates the UUIDs of one namespace. The namespace bytes are encoded once, and each thread reuses its own
+     * SHA-1 digest and buffers, so a call only allocates the UUID (and the bytes of a non ASCII name).</p>
+     */
+    public static final class Generator {
+        private static final int SHA1_LENGTH = 20;
+        private final byte[] namespaceBytes;
+        private final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+        private Generator(final UUID namespace) {
+            this.namespaceBytes = toBytes(Objects.requireNonNull(namespace, "namespace is null"));
+        }
+
+        /**
+         * @param name name
+         * @return {@link UUID}
+         */
+        public UUID generate(final String name) {
+            Objects.requireNonNull(name, "name == null");
+            final Buffers b = buffers.get();
+            final int length = name.length();
+            if (b.name.length < length) {
+                b.name = new byte[Math.max(length, 2 * b.name.length)];
+            }
+            for (int i = 0; i < length; i++) {
+                final char c = name.charAt(i);
+                if (c >= 0x80) {
+                    final byte[] utf8 = name.getBytes(UTF8);
+                    return generate(b, utf8, utf8.length);
+                }
+                b.name[i] = (byte) c;
+            }
+            return generate(b, b.name, length);
+        }
+
+        /**
+         * @param name name
+         * @return {@link UUID}
+         */
+        public UUID generate(final byte[] name) {
+            Objects.requireNonNull(name, "name is null");
+            return generate(buffers.get(), name, name.length);
+        }
+
+        /**
+         * @param names the names, hashed in parallel
+         * @return the UUIDs, in the order of {@code names}
+         */
+        public List<UUID> generateAll(final Collection<String> names) {
+            return names.parallelStream().map(this::generate).collect(Collectors.toList());
+        }
+
+        private UUID generate(final Buffers b, final byte[] name, final int length) {
+            b.digest.update(namespaceBytes);
+            b.digest.update(name, 0, length);
+            try {
+                b.digest.digest(b.sha1, 0, SHA1_LENGTH);
+            } catch (DigestException e) {
+                throw new RuntimeException(e);
+            }
+            return fromSha1Bytes(b.sha1);
+        }
+
+        private static final class Buffers {
+            private final MessageDigest digest = getDigest("SHA-1");
+            private final byte[] sha1 = new byte[SHA1_LENGTH];
+            private byte[] name = new byte[128];
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.processor;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.spi.Synchronization;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdmissionControlTest {
+
+    private final DefaultCamelContext context = new DefaultCamelContext();
+
+    @Test
+    void testRejectsWhenSaturatedAndReleasesOnCompletion() {
+        final AdmissionControl admission = new AdmissionControl(1, 7);
+        final Exchange first = new DefaultExchange(context);
+        admission.process(first);
+        assertNull(first.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+        assertEquals(1, admission.getInFlight());
+
+        final Exchange second = new DefaultExchange(context);
+        admission.process(second);
+        assertEquals(503, second.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+        assertEquals("7", second.getIn().getHeader(AdmissionControl.RETRY_AFTER));
+        assertTrue(second.getProperty(Exchange.ROUTE_STOP, Boolean.class));
+        assertEquals(1, admission.getRejectedCount());
+
+        for (Synchronization s : first.handoverCompletions()) {
+            s.onComplete(first);
+        }
+        assertEquals(0, admission.getInFlight());
+        final Exchange third = new DefaultExchange(context);
+        admission.process(third);
+        assertNull(third.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+    }
+}
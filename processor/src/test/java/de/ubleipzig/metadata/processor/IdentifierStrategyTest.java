@@ -0,0 +1,65 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.processor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class IdentifierStrategyTest {
+    private static final String PREFIX = "https://iiif.ub.uni-leipzig.de/0000005815/anno";
+
+    @Test
+    void testNameBasedIsStable() {
+        final UUID id = IdentifierStrategy.NAME_BASED.create(PREFIX, 0, 1);
+        assertEquals(UUIDv5.nameUUIDFromNamespaceAndString(UUIDv5.NAMESPACE_URL, PREFIX + "/0/1"), id);
+        assertEquals(id, IdentifierStrategy.NAME_BASED.create(PREFIX, 0, 1));
+        assertNotEquals(id, IdentifierStrategy.NAME_BASED.create(PREFIX, 0, 2));
+        assertNotEquals(id, IdentifierStrategy.NAME_BASED.create(PREFIX, 1, 1));
+        assertEquals(5, id.version());
+    }
+
+    @Test
+    void testNameBasedAcrossThreads() {
+        final Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 10000).parallel().forEach(n -> ids.add(IdentifierStrategy.NAME_BASED.create(
+                PREFIX, n % 2, n % 100)));
+        assertEquals(100, ids.size());
+    }
+
+    @Test
+    void testFromSystemProperties() {
+        final String strategy = System.getProperty("ids.strategy");
+        try {
+            System.clearProperty("ids.strategy");
+            assertSame(IdentifierStrategy.RANDOM, IdentifierStrategy.fromSystemProperties());
+            System.setProperty("ids.strategy", "uuid5");
+            assertSame(IdentifierStrategy.NAME_BASED, IdentifierStrategy.fromSystemProperties());
+        } finally {
+            if (strategy == null) {
+                System.clearProperty("ids.strategy");
+            } else {
+                System.setProperty("ids.strategy", strategy);
+            }
+        }
+    }
+}
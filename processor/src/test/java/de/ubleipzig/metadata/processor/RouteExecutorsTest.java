@@ -0,0 +1,49 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.processor;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RouteExecutorsTest {
+
+    @Test
+    void testExecutorStopsWithContext() throws Exception {
+        final DefaultCamelContext context = new DefaultCamelContext();
+        final AtomicReference<ExecutorService> executor = new AtomicReference<>();
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                executor.set(RouteExecutors.create(getContext(), "test"));
+                from("direct:start").routeId("test").threads().executorService(executor.get())
+                        .transform(simple("${body}-${threadName}"));
+            }
+        });
+        context.start();
+        final String reply = context.createProducerTemplate().requestBody("direct:start", "a", String.class);
+        assertEquals("a-test-0", reply);
+        assertFalse(executor.get().isShutdown());
+        context.stop();
+        assertTrue(executor.get().isShutdown());
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.processor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StageMetricsTest {
+
+    @Test
+    void testTimeCountsItemsAndErrors() {
+        final StageMetrics stage = new StageMetrics("scan");
+        assertEquals("a", stage.time(() -> "a"));
+        stage.increment();
+        assertThrows(IllegalStateException.class, () -> stage.time(() -> {
+            throw new IllegalStateException();
+        }));
+        stage.error();
+        assertEquals(2, stage.getItems());
+        assertEquals(2, stage.getErrors());
+        assertTrue(stage.toString().startsWith("scan: 2 items, 2 errors"));
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.processor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class UUIDv5Test {
+    private static final UUID NAMESPACE_DNS = UUID.fromString("6ba7b810-9dad-11d1-80b4-00c04fd430c8");
+
+    @Test
+    void testGenerator() {
+        final UUIDv5.Generator generator = UUIDv5.generator(UUIDv5.NAMESPACE_URL);
+        assertEquals(UUID.fromString("350edaea-0d64-5f14-bd82-a3b3061d08ab"),
+                generator.generate("https://iiif.ub.uni-leipzig.de/0000005815/manifest.json"));
+        final String longName = "https://example.org/Bücher/" + "x".repeat(200);
+        assertEquals(UUID.fromString("9536785b-97f8-5d74-a264-94e3903f27ec"), generator.generate(longName));
+        assertEquals(generator.generate(longName),
+                UUIDv5.nameUUIDFromNamespaceAndBytes(UUIDv5.NAMESPACE_URL, longName.getBytes(UTF_8)));
+        assertEquals(UUID.fromString("fc0dc771-b8e9-58a2-b9db-8596857ce1ca"),
+                UUIDv5.generator(NAMESPACE_DNS).generate("iiif.ub.uni-leipzig.de"));
+        assertEquals(UUID.fromString("fc0dc771-b8e9-58a2-b9db-8596857ce1ca"),
+                UUIDv5.nameUUIDFromNamespaceAndString(NAMESPACE_DNS, "iiif.ub.uni-leipzig.de"));
+        assertSame(UUIDv5.generator(NAMESPACE_DNS), UUIDv5.generator(UUID.fromString(NAMESPACE_DNS.toString())));
+    }
+
+    @Test
+    void testGenerateAll() {
+        final List<String> names = IntStream.range(0, 5000).mapToObj(n -> "https://example.org/" + n).collect(
+                Collectors.toList());
+        final List<UUID> uuids = UUIDv5.generator(UUIDv5.NAMESPACE_URL).generateAll(names);
+        assertEquals(names.stream().map(n -> UUIDv5.nameUUIDFromNamespaceAndBytes(UUIDv5.NAMESPACE_URL,
+                n.getBytes(UTF_8))).collect(Collectors.toList()), uuids);
+    }
+}
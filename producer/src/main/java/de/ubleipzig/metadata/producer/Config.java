@@ -50,6 +50,7 @@ public class Config {
     private String resourceFormat;
     private String resourceFileExtension;
     private String viewingHint;
+    private String metsBackend;
 
     /**
      * @return baseUrl String
@@ -373,4 +374,20 @@ public class Config {
         this.viewingHint = viewingHint;
     }
 
+    /**
+     * @return metsBackend, "stax" opts in to the single-pass reader, anything else uses the XMLBeam projection
+     */
+    @JsonProperty
+    public String getMetsBackend() {
+        return metsBackend;
+    }
+
+    /**
+     * @param metsBackend String
+     */
+    @JsonProperty
+    public void setMetsBackend(final String metsBackend) {
+        this.metsBackend = metsBackend;
+    }
+
 }
@@ -13,12 +13,12 @@
  */
 package de.ubleipzig.metadata.producer;
 
+import de.ubleipzig.metadata.processor.IdentifierStrategy;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.RDF;
 import org.apache.commons.rdf.simple.SimpleRDF;
 
 import java.io.File;
-import java.util.UUID;
 
 import static java.io.File.separator;
 import static java.lang.Integer.parseInt;
@@ -27,13 +27,23 @@ import static java.lang.String.format;
 
 public class IRIBuilder {
     private final Config config;
+    private final IdentifierStrategy ids;
     private static final RDF rdf = new SimpleRDF();
 
     /**
      * @param config Config
      */
     public IRIBuilder(final Config config) {
+        this(config, IdentifierStrategy.fromSystemProperties());
+    }
+
+    /**
+     * @param config Config
+     * @param ids IdentifierStrategy
+     */
+    public IRIBuilder(final Config config, final IdentifierStrategy ids) {
         this.config = config;
+        this.ids = ids;
     }
     /**
      * @return String
@@ -64,17 +74,34 @@ public class IRIBuilder {
     }
 
     /**
+     * @param resourceContext String
      * @return String
+     * @deprecated use {@link #buildAnnotationId(String, int)}, this annotation id is always random
      */
+    @Deprecated
     public String buildAnnotationId(final String resourceContext) {
-        return resourceContext + config.getAnnotationContext() + File.separator + UUID.randomUUID();
+        final String prefix = resourceContext + config.getAnnotationContext();
+        return prefix + File.separator + IdentifierStrategy.RANDOM.create(prefix, 0, 0);
+    }
+
+    /**
+     * @param resourceContext String
+     * @param canvasIndex int
+     * @return String
+     */
+    public String buildAnnotationId(final String resourceContext, final int canvasIndex) {
+        final String prefix = resourceContext + config.getAnnotationContext();
+        //the producer builds a single sequence
+        return prefix + File.separator + ids.create(prefix, 0, canvasIndex);
     }
 
     /**
+     * @param resourceContext String
      * @return String
      */
     public String buildSequenceId(final String resourceContext) {
-        return resourceContext + config.getSequenceContext() + File.separator + UUID.randomUUID();
+        final String prefix = resourceContext + config.getSequenceContext();
+        return prefix + File.separator + ids.create(prefix, 0, 0);
     }
 
     /**
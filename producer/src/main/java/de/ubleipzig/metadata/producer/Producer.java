@@ -15,6 +15,8 @@ package de.ubleipzig.metadata.producer;
  */
 
 
+import de.ubleipzig.metadata.processor.AdmissionControl;
+import de.ubleipzig.metadata.processor.RouteExecutors;
 import org.apache.camel.Exchange;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.impl.JndiRegistry;
@@ -25,8 +27,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 import static de.ubleipzig.metadata.processor.ContextUtils.createInitialContext;
+import static de.ubleipzig.metadata.processor.RouteExecutors.CONTINUATION_TIMEOUT;
 import static java.util.Optional.ofNullable;
 import static org.apache.camel.Exchange.*;
 import static org.apache.camel.LoggingLevel.INFO;
@@ -88,16 +92,20 @@ public class Producer {
      * QueryRoute.
      */
     public static class QueryRoute extends RouteBuilder {
-
+        private final AdmissionControl admission = AdmissionControl.fromSystemProperties();
 
         /**
          * configure.
          */
         public void configure() {
+            final ExecutorService executor = RouteExecutors.create(getContext(), "producer");
             from("jetty:http://{{api.host}}:{{api.port}}{{api.prefix}}?"
                     + "optionsEnabled=true&matchOnUriPrefix=true&sendServerVersion=false"
-                    + "&httpMethodRestrict=GET,OPTIONS")
+                    + "&httpMethodRestrict=GET,OPTIONS&continuationTimeout=" + CONTINUATION_TIMEOUT)
                     .routeId("Producer")
+                    //reject when saturated, then leave the jetty thread for the route executor
+                    .process(admission)
+                    .threads().executorService(executor)
                     .removeHeaders(HTTP_ACCEPT)
                     .setHeader(
                             "Access-Control-Allow-Origin")
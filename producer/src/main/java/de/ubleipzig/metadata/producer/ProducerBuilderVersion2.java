@@ -14,10 +14,11 @@
 
 package de.ubleipzig.metadata.producer;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import de.ubleipzig.iiif.vocabulary.SC;
+import de.ubleipzig.metadata.extractor.disassembler.DimensionManifestBuilder;
+import de.ubleipzig.metadata.extractor.dimensions.ImageDimensionFetcher;
 import de.ubleipzig.metadata.producer.doc.MetsData;
 import de.ubleipzig.metadata.templates.ImageServiceResponse;
 import de.ubleipzig.metadata.templates.Metadata;
@@ -31,13 +32,13 @@ import org.apache.commons.rdf.api.IRI;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static de.ubleipzig.metadata.processor.JsonSerializer.serialize;
 import static de.ubleipzig.metadata.producer.doc.MetsConstants.URN_TYPE;
@@ -50,13 +51,14 @@ import static java.util.Optional.ofNullable;
 @Slf4j
 public class ProducerBuilderVersion2 {
 
-    private static final ObjectMapper MAPPER = new ObjectMapper();
     private final String xmldbHost;
+    private final Config config;
     private final MetsData mets;
 
     public ProducerBuilderVersion2(final String xmlDoc, final String xmldbHost) {
         this.xmldbHost = xmldbHost;
-        this.mets = getMetsFromString(xmlDoc);
+        this.config = retrieveConfig(ProducerBuilderVersion2.class.getResourceAsStream("/producer-config.yml"));
+        this.mets = getMetsFromString(xmlDoc, config.getMetsBackend());
     }
 
     /**
@@ -83,13 +85,11 @@ public class ProducerBuilderVersion2 {
      */
     private String getViewId(final String presentationUri) {
         try {
-            final String presentationUriPath = new URI(presentationUri).toURL().getPath();
+            final String presentationUriPath = URI.create(presentationUri).getPath();
             final String[] parts = presentationUriPath.split(String.valueOf(separatorChar));
             return parts[3];
-        } catch (MalformedURLException e) {
+        } catch (IllegalArgumentException e) {
             throw new RuntimeException("No view Id found. Exiting " + e.getMessage());
-        } catch (URISyntaxException e) {
-            throw new RuntimeException(e);
         }
     }
 
@@ -101,7 +101,6 @@ public class ProducerBuilderVersion2 {
     public String build() {
         final PerfectManifest manifest = new PerfectManifest();
         manifest.setContext(SC.CONTEXT);
-        final Config config = retrieveConfig(ProducerBuilderVersion2.class.getResourceAsStream("/producer-config.yml"));
         final IRIBuilder iriBuilder = new IRIBuilder(config);
         final String presentationUri = getPresentationUri(mets);
         final String viewId = getViewId(presentationUri);
@@ -152,6 +151,16 @@ public class ProducerBuilderVersion2 {
         final List<Canvas> canvases = new ArrayList<>();
         final AtomicInteger atomicInteger = new AtomicInteger(1);
         final List<String> divs = getPhysicalDivs(mets);
+
+        //buildServiceIRIs
+        final List<IRI> serviceIRIs = new ArrayList<>();
+        for (int n = 1; n <= divs.size(); n++) {
+            serviceIRIs.add(iriBuilder.buildServiceIRI(imageServiceContext, format("%08d", n)));
+        }
+
+        //getDimensionsFromImageService
+        final Iterator<ImageServiceResponse> dimensions = new ImageDimensionFetcher().fetchAll(
+                serviceIRIs.stream().map(IRI::getIRIString).collect(Collectors.toList())).iterator();
         for (String div : divs) {
             final String label = getOrderLabelForDiv(mets, div);
             final Canvas canvas = new Canvas();
@@ -159,9 +168,9 @@ public class ProducerBuilderVersion2 {
             final Body body = new Body();
             body.setLabel(label);
 
-            //buildServiceIRI
-            final String resourceFileId = format("%08d", atomicInteger.getAndIncrement());
-            final IRI serviceIRI = iriBuilder.buildServiceIRI(imageServiceContext, resourceFileId);
+            final int canvasIndex = atomicInteger.getAndIncrement();
+            final String resourceFileId = format("%08d", canvasIndex);
+            final IRI serviceIRI = serviceIRIs.get(canvasIndex - 1);
 
             //canvasId = resourceId
             final String canvasIdString = resourceContext + canvasContext + separator + resourceFileId;
@@ -172,18 +181,9 @@ public class ProducerBuilderVersion2 {
             //set BodyId
             body.setId(bodyIdString);
 
-            //getDimensionsFromImageService
-            InputStream is = null;
-            try {
-                is = new URI(serviceIRI.getIRIString() + "/info.json").toURL().openStream();
-            } catch (IOException e) {
-                log.error(e.getMessage());
-            } catch (URISyntaxException e) {
-                throw new RuntimeException(e);
-            }
-            final ImageServiceResponse ir = mapServiceResponse(is);
-            final Integer height = ir.getHeight();
-            final Integer width = ir.getWidth();
+            final Optional<ImageServiceResponse> ir = ofNullable(dimensions.next());
+            final Integer height = ir.map(ImageServiceResponse::getHeight).orElse(null);
+            final Integer width = ir.map(ImageServiceResponse::getWidth).orElse(null);
             canvas.setWidth(width);
             canvas.setHeight(height);
             body.setType(config.getResourceType());
@@ -200,7 +200,7 @@ public class ProducerBuilderVersion2 {
 
             //build Annotation
             final PaintingAnnotation anno = new PaintingAnnotation();
-            final String annotationId = iriBuilder.buildAnnotationId(resourceContext);
+            final String annotationId = iriBuilder.buildAnnotationId(resourceContext, canvasIndex);
             anno.setId(annotationId);
             anno.setBody(body);
             anno.setTarget(canvasIdString);
@@ -241,13 +241,10 @@ public class ProducerBuilderVersion2 {
      *
      * @param res String
      * @return ImageServiceResponse
+     * @deprecated use {@link DimensionManifestBuilder#mapServiceResponse(InputStream)}
      */
+    @Deprecated
     public static ImageServiceResponse mapServiceResponse(final InputStream res) {
-        try {
-            return MAPPER.readValue(res, new TypeReference<ImageServiceResponse>() {
-            });
-        } catch (IOException e) {
-            throw new RuntimeException(e.getMessage());
-        }
+        return DimensionManifestBuilder.mapServiceResponse(res);
     }
 }
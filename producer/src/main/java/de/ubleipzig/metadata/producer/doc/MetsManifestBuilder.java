@@ -32,6 +32,8 @@ import static org.xmlbeam.XBProjector.Flags.TO_STRING_RENDERS_XML;
 @Slf4j
 public final class MetsManifestBuilder {
 
+    public static final String STAX_BACKEND = "stax";
+
     private MetsManifestBuilder() {
     }
 
@@ -46,6 +48,20 @@ public final class MetsManifestBuilder {
             return projector.projectXMLString(xml, MetsData.class);
     }
 
+    /**
+     * getMetsFromString.
+     *
+     * @param xml String
+     * @param backend String "stax" for the single-pass reader, otherwise the XPath projection
+     * @return MetsData
+     */
+    public static MetsData getMetsFromString(final String xml, final String backend) {
+        if (STAX_BACKEND.equalsIgnoreCase(backend)) {
+            return StaxMetsData.fromString(xml);
+        }
+        return getMetsFromString(xml);
+    }
+
     /**
      * @param url File
      * @return MetsData
@@ -0,0 +1,541 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.producer.doc;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import static java.util.Optional.ofNullable;
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * StaxMetsData.
+ * A {@link MetsData} that reads the document once with StAX and answers every accessor from indexed maps,
+ * following the semantics of the XPath projections on {@link MetsData}.
+ *
+ * @author christopher-johnson
+ */
+public final class StaxMetsData implements MetsData {
+
+    private static final XMLInputFactory FACTORY = XMLInputFactory.newFactory();
+    private static final Set<String> TEXT_ELEMENTS = Set.of("title", "owner", "presentation", "ownerLogo",
+            "typeOfResource", "identifier", "subtitle", "form", "extent", "language", "place", "recordIdentifier",
+            "dateCreated", "note", "number", "shelfLocator", "displayForm", "placeTerm", "dateOther", "publisher");
+    private static final String MANIFEST_TITLE = "mods/titleInfo/title";
+
+    static {
+        FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final Map<String, String> texts = new HashMap<>();
+    private final List<String> noteTypes = new ArrayList<>();
+    private final List<String> physicalDivs = new ArrayList<>();
+    private final List<Xlink> xlinks = new ArrayList<>();
+    private final List<Logical> topLogicals = new ArrayList<>();
+    private final Map<String, String> orderLabels = new HashMap<>();
+    private final Map<String, String> fileIds = new HashMap<>();
+    private final Map<String, String> hrefs = new HashMap<>();
+    private final Map<String, String> mimeTypes = new HashMap<>();
+    private final Map<String, String> logicalLabels = new HashMap<>();
+    private final Map<String, String> logicalTypes = new HashMap<>();
+    private final Map<String, List<Node>> logicalDivs = new HashMap<>();
+    private final Map<String, List<Node>> divs = new HashMap<>();
+
+    private StaxMetsData() {
+    }
+
+    /**
+     * @param xml String
+     * @return MetsData
+     */
+    public static MetsData fromString(final String xml) {
+        final StaxMetsData mets = new StaxMetsData();
+        try {
+            final XMLStreamReader reader = FACTORY.createXMLStreamReader(new StringReader(xml));
+            try {
+                mets.parse(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Cannot Read XML: " + e.getMessage());
+        }
+        return mets;
+    }
+
+    private void parse(final XMLStreamReader reader) throws XMLStreamException {
+        final List<Frame> stack = new ArrayList<>();
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case START_ELEMENT:
+                    stack.add(start(reader, stack));
+                    break;
+                case CHARACTERS:
+                case CDATA:
+                case SPACE:
+                    for (Frame f : stack) {
+                        if (f.text != null) {
+                            f.text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                    }
+                    break;
+                case END_ELEMENT:
+                    end(stack.remove(stack.size() - 1));
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private Frame start(final XMLStreamReader reader, final List<Frame> stack) {
+        final Frame parent = stack.isEmpty() ? null : stack.get(stack.size() - 1);
+        final Frame frame = new Frame(reader.getLocalName(), parent);
+        final String ns = reader.getNamespaceURI();
+        String fileId = null;
+        String href = null;
+        String orderLabel = null;
+        String mimeType = null;
+        String from = null;
+        String to = null;
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            final String name = reader.getAttributeLocalName(i);
+            final String value = reader.getAttributeValue(i);
+            final String attrNs = reader.getAttributeNamespace(i);
+            final boolean plain = attrNs == null || attrNs.isEmpty();
+            switch (name) {
+                case "ID":
+                    frame.id = value;
+                    break;
+                case "LABEL":
+                    frame.label = value;
+                    break;
+                case "TYPE":
+                    frame.type = value;
+                    break;
+                case "ORDERLABEL":
+                    orderLabel = plain ? value : orderLabel;
+                    break;
+                case "FILEID":
+                    fileId = plain ? value : fileId;
+                    break;
+                case "MIMETYPE":
+                    mimeType = plain ? value : mimeType;
+                    break;
+                case "href":
+                    href = href == null ? value : href;
+                    break;
+                case "from":
+                    from = value;
+                    break;
+                case "to":
+                    to = value;
+                    break;
+                default:
+                    break;
+            }
+            if (plain && TEXT_ELEMENTS.contains(frame.name)) {
+                frame.keys.add(frame.name + "[@" + name + "='" + value + "']");
+                if (frame.name.equals("note") && name.equals("type")) {
+                    noteTypes.add(value);
+                }
+            }
+        }
+        if (TEXT_ELEMENTS.contains(frame.name)) {
+            frame.text = new StringBuilder();
+            frame.keys.add(frame.name);
+            if (frame.name.equals("title") && parent != null && parent.name.equals("titleInfo")
+                    && parent.parent != null && parent.parent.name.equals("mods")) {
+                frame.keys.add(MANIFEST_TITLE);
+            }
+        }
+
+        if (frame.name.equals("structMap")) {
+            frame.logical = "LOGICAL".equals(frame.type);
+            frame.physical = "PHYSICAL".equals(frame.type);
+        } else if (parent != null) {
+            frame.logical = parent.logical;
+            frame.physical = parent.physical;
+            frame.structMapDepth = parent.structMapDepth + 1;
+        }
+        if (frame.physical && frame.structMapDepth > 1 && frame.id != null) {
+            physicalDivs.add(frame.id);
+        }
+        if (frame.name.equals("div")) {
+            if (ns == null || ns.isEmpty()) {
+                for (Frame f = parent; f != null; f = f.parent) {
+                    f.plainDivDescendant = true;
+                }
+            }
+            final Node node = frame.node();
+            if (node.parent != null) {
+                node.parent.children.add(node);
+            }
+            if (frame.id != null) {
+                divs.computeIfAbsent(frame.id, k -> new ArrayList<>(1)).add(node);
+                if (orderLabel != null) {
+                    orderLabels.putIfAbsent(frame.id, orderLabel);
+                }
+                if (frame.logical) {
+                    logicalDivs.computeIfAbsent(frame.id, k -> new ArrayList<>(1)).add(node);
+                    if (frame.label != null) {
+                        logicalLabels.putIfAbsent(frame.id, frame.label);
+                    }
+                    if (frame.type != null) {
+                        logicalTypes.putIfAbsent(frame.id, frame.type);
+                    }
+                }
+            }
+        }
+        if (frame.name.equals("file") && frame.id != null && mimeType != null) {
+            mimeTypes.putIfAbsent(frame.id, mimeType);
+        }
+        if (fileId != null) {
+            for (Frame f = parent; f != null; f = f.parent) {
+                if (f.name.equals("div") && f.id != null) {
+                    fileIds.putIfAbsent(f.id, fileId);
+                }
+            }
+        }
+        if (href != null) {
+            for (Frame f = parent; f != null; f = f.parent) {
+                if (f.name.equals("file") && f.id != null) {
+                    hrefs.putIfAbsent(f.id, href);
+                }
+            }
+        }
+        if (frame.name.equals("smLink") && parent != null && parent.name.equals("structLink")) {
+            xlinks.add(new Link(from, to));
+        }
+        return frame;
+    }
+
+    private void end(final Frame frame) {
+        if (frame.text != null) {
+            final String value = frame.text.toString();
+            for (String key : frame.keys) {
+                texts.putIfAbsent(key, value);
+            }
+        }
+        if (frame.logical && frame.structMapDepth == 2 && frame.name.equals("div")
+                && frame.parent.name.equals("div") && !frame.plainDivDescendant) {
+            topLogicals.add(frame.node());
+        }
+    }
+
+    private Optional<String> text(final String key) {
+        return ofNullable(texts.get(key));
+    }
+
+    @Override
+    public Optional<String> getManifestTitle() {
+        return text(MANIFEST_TITLE);
+    }
+
+    @Override
+    public Optional<String> getAttribution() {
+        return text("owner");
+    }
+
+    @Override
+    public Optional<String> getPresentationUri() {
+        return text("presentation");
+    }
+
+    @Override
+    public Optional<String> getLogo() {
+        return text("ownerLogo");
+    }
+
+    @Override
+    public Optional<String> getManuscriptType() {
+        return text("typeOfResource[@manuscript='yes']");
+    }
+
+    @Override
+    public Optional<String> getManuscriptIdByType(final String idType) {
+        return text("identifier[@type='" + idType + "']");
+    }
+
+    @Override
+    public Optional<String> getSubtitle() {
+        return text("subtitle");
+    }
+
+    @Override
+    public Optional<String> getMedium() {
+        return text("typeOfResource");
+    }
+
+    @Override
+    public Optional<String> getMaterial() {
+        return text("form[@type='material']");
+    }
+
+    @Override
+    public Optional<String> getExtent() {
+        return text("extent[@unit='leaves']");
+    }
+
+    @Override
+    public Optional<String> getDimension() {
+        return text("extent[@unit='cm']");
+    }
+
+    @Override
+    public Optional<String> getLanguage() {
+        return text("language");
+    }
+
+    @Override
+    public Optional<String> getLocation() {
+        return text("place[@eventType='manufacture']");
+    }
+
+    @Override
+    public Optional<String> getRecordIdentifier() {
+        return text("recordIdentifier");
+    }
+
+    @Override
+    public Optional<String> getDateCreated() {
+        return text("dateCreated");
+    }
+
+    @Override
+    public Optional<String> getNote() {
+        return text("note");
+    }
+
+    @Override
+    public List<String> getNoteTypes() {
+        return Collections.unmodifiableList(noteTypes);
+    }
+
+    @Override
+    public Optional<String> getNotesByType(final String noteType) {
+        return text("note[@type='" + noteType + "']");
+    }
+
+    @Override
+    public Optional<String> getCensus() {
+        return text("number");
+    }
+
+    @Override
+    public Optional<String> getCollection() {
+        return text("title");
+    }
+
+    @Override
+    public Optional<String> getCallNumber() {
+        return text("shelfLocator");
+    }
+
+    @Override
+    public Optional<String> getOwner() {
+        return text("owner");
+    }
+
+    @Override
+    public Optional<String> getAuthor() {
+        return text("displayForm");
+    }
+
+    @Override
+    public Optional<String> getPlace() {
+        return text("placeTerm");
+    }
+
+    @Override
+    public Optional<String> getDate() {
+        return text("dateOther");
+    }
+
+    @Override
+    public Optional<String> getPublisher() {
+        return text("publisher");
+    }
+
+    @Override
+    public Optional<String> getPhysState() {
+        return text("extent");
+    }
+
+    @Override
+    public List<String> getPhysicalDivs() {
+        return Collections.unmodifiableList(physicalDivs);
+    }
+
+    @Override
+    public Optional<String> getOrderLabelForDiv(final String div) {
+        return ofNullable(orderLabels.get(div));
+    }
+
+    @Override
+    public Optional<String> getFileIdForDiv(final String div) {
+        return ofNullable(fileIds.get(div));
+    }
+
+    @Override
+    public Optional<String> getHrefForFile(final String file) {
+        return ofNullable(hrefs.get(file));
+    }
+
+    @Override
+    public Optional<String> getMimeTypeForFile(final String file) {
+        return ofNullable(mimeTypes.get(file));
+    }
+
+    @Override
+    public List<Xlink> getXlinks() {
+        return Collections.unmodifiableList(xlinks);
+    }
+
+    @Override
+    public Logical getLogicalLastDescendent(final String id) {
+        for (Node node : logicalDivs.getOrDefault(id, Collections.emptyList())) {
+            if (!node.children.isEmpty()) {
+                return node.children.get(node.children.size() - 1);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<Logical> getTopLogicals() {
+        return Collections.unmodifiableList(topLogicals);
+    }
+
+    @Override
+    public List<Logical> getLogicalLastParent(final String id) {
+        final List<Logical> parents = new ArrayList<>();
+        for (Node node : divs.getOrDefault(id, Collections.emptyList())) {
+            if (node.parent != null && !parents.contains(node.parent)) {
+                parents.add(node.parent);
+            }
+        }
+        return parents;
+    }
+
+    @Override
+    public List<Logical> getLogicalLastChildren(final String id) {
+        final List<Logical> children = new ArrayList<>();
+        for (Node node : divs.getOrDefault(id, Collections.emptyList())) {
+            children.addAll(node.children);
+        }
+        return children;
+    }
+
+    @Override
+    public Optional<String> getLogicalLabel(final String id) {
+        return ofNullable(logicalLabels.get(id));
+    }
+
+    @Override
+    public Optional<String> getLogicalType(final String id) {
+        return ofNullable(logicalTypes.get(id));
+    }
+
+    private static final class Frame {
+        private final String name;
+        private final Frame parent;
+        private final List<String> keys = new ArrayList<>(2);
+        private String id;
+        private String label;
+        private String type;
+        private StringBuilder text;
+        private Node node;
+        private boolean logical;
+        private boolean physical;
+        private int structMapDepth;
+        private boolean plainDivDescendant;
+
+        private Frame(final String name, final Frame parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        private Node node() {
+            if (node == null) {
+                node = new Node(id, label, type, parent == null ? null : parent.node());
+            }
+            return node;
+        }
+    }
+
+    private static final class Node implements Logical {
+        private final String id;
+        private final String label;
+        private final String type;
+        private final Node parent;
+        private final List<Node> children = new ArrayList<>(0);
+
+        private Node(final String id, final String label, final String type, final Node parent) {
+            this.id = id;
+            this.label = label;
+            this.type = type;
+            this.parent = parent;
+        }
+
+        @Override
+        public String getLogicalId() {
+            return id;
+        }
+
+        @Override
+        public String getLogicalLabel() {
+            return label;
+        }
+
+        @Override
+        public String getLogicalType() {
+            return type;
+        }
+    }
+
+    private static final class Link implements Xlink {
+        private final String from;
+        private final String to;
+
+        private Link(final String from, final String to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public String getXLinkFrom() {
+            return from;
+        }
+
+        @Override
+        public String getXLinkTo() {
+            return to;
+        }
+    }
+}
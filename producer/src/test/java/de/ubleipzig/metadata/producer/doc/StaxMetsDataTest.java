@@ -0,0 +1,86 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.producer.doc;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StaxMetsDataTest {
+
+    private static final String[] IDS = {"LOG_0000", "LOG_0001", "LOG_0002", "LOG_0003", "LOG_0004", "LOG_0005",
+            "LOG_0006", "LOG_0007", "PHYS_0000", "PHYS_0001", "PHYS_0003", "FILE_0001", "FILE_0004", "urn", "ppn",
+            "provenance", "binding", "missing"};
+
+    private static String readMets() throws IOException {
+        try (InputStream is = StaxMetsDataTest.class.getResourceAsStream("/mets/test-mets.xml")) {
+            return new String(is.readAllBytes(), UTF_8);
+        }
+    }
+
+    private static String show(final Object o) {
+        if (o instanceof MetsData.Logical) {
+            final MetsData.Logical l = (MetsData.Logical) o;
+            return "L(" + l.getLogicalId() + "|" + l.getLogicalLabel() + "|" + l.getLogicalType() + ")";
+        }
+        if (o instanceof MetsData.Xlink) {
+            final MetsData.Xlink x = (MetsData.Xlink) o;
+            return "X(" + x.getXLinkFrom() + "->" + x.getXLinkTo() + ")";
+        }
+        if (o instanceof List) {
+            final List<String> values = new ArrayList<>();
+            ((List<?>) o).forEach(e -> values.add(show(e)));
+            return values.toString();
+        }
+        if (o instanceof Optional) {
+            return ((Optional<?>) o).map(StaxMetsDataTest::show).orElse("empty");
+        }
+        return String.valueOf(o);
+    }
+
+    @Test
+    void testMatchesXPathProjection() throws Exception {
+        final String xml = readMets();
+        final MetsData xpath = MetsManifestBuilder.getMetsFromString(xml);
+        final MetsData stax = MetsManifestBuilder.getMetsFromString(xml, MetsManifestBuilder.STAX_BACKEND);
+        assertTrue(stax instanceof StaxMetsData);
+        for (Method m : MetsData.class.getMethods()) {
+            if (m.getParameterCount() == 0) {
+                assertEquals(show(m.invoke(xpath)), show(m.invoke(stax)), m.getName());
+            } else {
+                for (String id : IDS) {
+                    assertEquals(show(m.invoke(xpath, id)), show(m.invoke(stax, id)), m.getName() + "(" + id + ")");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testDefaultBackendIsXPath() throws Exception {
+        final MetsData mets = MetsManifestBuilder.getMetsFromString(readMets(), null);
+        assertFalse(mets instanceof StaxMetsData);
+        assertEquals("Psalterium", MetsManifestBuilder.getManifestTitle(mets));
+    }
+}
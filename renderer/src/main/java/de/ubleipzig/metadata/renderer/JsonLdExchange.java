@@ -22,13 +22,18 @@ import de.ubleipzig.metadata.templates.Sequences;
 import de.ubleipzig.metadata.templates.ServiceCount;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.Exchange;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.utils.URLEncodedUtils;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -36,8 +41,8 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static de.ubleipzig.metadata.processor.JsonSerializer.serialize;
-import static de.ubleipzig.metadata.renderer.RenderedDocument.buildImageZip;
 import static de.ubleipzig.metadata.renderer.RenderedDocument.buildPdf;
+import static de.ubleipzig.metadata.renderer.RenderedDocument.streamImageZip;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Optional.ofNullable;
 import static org.apache.camel.Exchange.CONTENT_TYPE;
@@ -90,12 +95,24 @@ public final class JsonLdExchange {
     }
 
     private static void setPDFBodyandHeaders(final Exchange e, final List<String> subList, final String manifestTitle) {
-        final ByteArrayOutputStream baos;
         try {
-            baos = buildPdf(subList);
+            final Path pdf = Files.createTempFile("renderer", ".pdf");
+            e.addOnCompletion(new SynchronizationAdapter() {
+                @Override
+                public void onDone(final Exchange exchange) {
+                    try {
+                        Files.deleteIfExists(pdf);
+                    } catch (IOException ex) {
+                        log.warn("Could not delete {}: {}", pdf, ex.getMessage());
+                    }
+                }
+            });
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(pdf))) {
+                buildPdf(subList, out);
+            }
             e.getIn().setHeader("Content-Type", "application/pdf; name=\"" + manifestTitle + ".pdf\"");
             e.getIn().setHeader("Content-Disposition", "inline; filename=\"" + manifestTitle + "\"");
-            e.getIn().setBody(baos.toByteArray());
+            e.getIn().setBody(pdf.toFile());
         } catch (Exception ex) {
             log.error(ex.getMessage());
         }
@@ -104,8 +121,18 @@ public final class JsonLdExchange {
     private static void setImageBodyandHeaders(final Exchange e, final List<String> subList, final String
             manifestTitle) {
         try {
-            byte[] zip = buildImageZip(subList, manifestTitle);
-
+            final InputStream zip = streamImageZip(subList, manifestTitle);
+            //stops the writer if the response ends before the archive is read
+            e.addOnCompletion(new SynchronizationAdapter() {
+                @Override
+                public void onDone(final Exchange exchange) {
+                    try {
+                        zip.close();
+                    } catch (IOException ex) {
+                        log.warn("Could not close image zip: {}", ex.getMessage());
+                    }
+                }
+            });
             e.getIn().setHeader("Content-Type", "application/zip; name=\"" + manifestTitle + ".zip\"");
             e.getIn().setHeader("Content-Disposition", "attachment; filename=\"" + manifestTitle + "\"");
             e.getIn().setBody(zip);
@@ -14,76 +14,135 @@
 
 package de.ubleipzig.metadata.renderer;
 
+import com.itextpdf.io.image.ImageData;
 import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Image;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import de.ubleipzig.metadata.processor.PipedStreams;
+import de.ubleipzig.metadata.processor.PrefetchIterator;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.camel.util.IOHelper;
 import org.apache.commons.io.IOUtils;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
-import java.util.Objects;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 @Slf4j
 public final class RenderedDocument {
 
+    private static final int PREFETCH = Integer.getInteger("renderer.prefetch", 8);
+
     private RenderedDocument() {
     }
 
-    public static ByteArrayOutputStream buildPdf(List<String> imageList) throws Exception {
-        final Image image = new Image(ImageDataFactory.create(new URI(imageList.get(0)).toURL()));
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        final com.itextpdf.kernel.pdf.PdfDocument pdfDoc = new com.itextpdf.kernel.pdf.PdfDocument(new PdfWriter(baos));
-        final Document doc = new Document(pdfDoc, new PageSize(image.getImageWidth(), image.getImageHeight()));
-        final AtomicInteger ai = new AtomicInteger(0);
-        imageList.forEach(i -> {
-            Image im = null;
+    /**
+     * Writes one page per image to {@code out}. Up to {@code renderer.prefetch} images are downloaded
+     * concurrently ahead of the page being written, and each page is flushed once its image is placed, so
+     * memory is bounded by the prefetch window rather than by the number of pages. An image that cannot be
+     * read fails the document with a RuntimeException naming the image.
+     *
+     * @param imageList List
+     * @param out OutputStream
+     */
+    public static void buildPdf(final List<String> imageList, final OutputStream out) {
+        final PdfDocument pdfDoc = new PdfDocument(new PdfWriter(out));
+        try (PrefetchIterator<String, ImageData> images = new PrefetchIterator<>(imageList.iterator(),
+                RenderedDocument::getImageData, PREFETCH)) {
+            while (images.hasNext()) {
+                final ImageData image = images.next();
+                final PdfPage page = pdfDoc.addNewPage(new PageSize(image.getWidth(), image.getHeight()));
+                new PdfCanvas(page).addImage(image, image.getWidth(), 0, 0, image.getHeight(), 0, 0);
+                //flush the image XObject with the page, which flush() leaves in the document
+                page.flush(true);
+            }
+        } catch (RuntimeException e) {
+            //closing a document without pages fails too, which must not hide the cause
             try {
-                im = new Image(ImageDataFactory.create(new URI(i).toURL()));
-            } catch (MalformedURLException e) {
-               log.error(e.getMessage());
-            } catch (URISyntaxException e) {
-                throw new RuntimeException(e);
+                pdfDoc.close();
+            } catch (RuntimeException c) {
+                e.addSuppressed(c);
             }
-            pdfDoc.addNewPage(new PageSize(Objects.requireNonNull(im).getImageWidth(), im.getImageHeight()));
-            im.setFixedPosition(ai.get() + 1, 0, 0);
-            doc.add(im);
-            ai.incrementAndGet();
-        });
-        doc.close();
-        return baos;
+            throw e;
+        }
+        pdfDoc.close();
     }
 
-    public static byte[] buildImageZip(List<String> imageList, String manifestTitle) {
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        final ZipOutputStream zos = new ZipOutputStream(baos);
-        final AtomicInteger ai = new AtomicInteger(0);
-        imageList.forEach(i -> {
-            try {
-                final InputStream is = new URI(i).toURL().openStream();
-                byte[] targetArray = IOUtils.toByteArray(is);
-                zos.putNextEntry(new ZipEntry(manifestTitle + ai.get() + ".jpg"));
-                zos.write(targetArray);
+    private static ImageData getImageData(final String image) {
+        try (InputStream is = new URI(image).toURL().openStream()) {
+            return ImageDataFactory.create(IOUtils.toByteArray(is));
+        } catch (IOException | URISyntaxException e) {
+            throw new RuntimeException("Could not read image " + image + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the images as {@code STORED} entries of a zip archive to {@code out}. Up to
+     * {@code renderer.prefetch} images are downloaded concurrently and written in list order; images that
+     * cannot be read are logged and skipped.
+     *
+     * @param imageList List
+     * @param manifestTitle String
+     * @param out OutputStream
+     * @throws IOException IOException
+     */
+    public static void buildImageZip(final List<String> imageList, final String manifestTitle,
+                                     final OutputStream out) throws IOException {
+        final ZipOutputStream zos = new ZipOutputStream(out);
+        zos.setMethod(ZipOutputStream.STORED);
+        int n = 0;
+        try (PrefetchIterator<String, byte[]> images = new PrefetchIterator<>(imageList.iterator(),
+                RenderedDocument::getImageBytes, PREFETCH)) {
+            while (images.hasNext()) {
+                final byte[] image = images.next();
+                if (image == null) {
+                    continue;
+                }
+                final CRC32 crc = new CRC32();
+                crc.update(image);
+                final ZipEntry entry = new ZipEntry(manifestTitle + n++ + ".jpg");
+                entry.setSize(image.length);
+                entry.setCompressedSize(image.length);
+                entry.setCrc(crc.getValue());
+                zos.putNextEntry(entry);
+                zos.write(image);
                 zos.closeEntry();
-                ai.getAndIncrement();
-            } catch (IOException e) {
-                log.error(e.getMessage());
-            } catch (URISyntaxException e) {
-                throw new RuntimeException(e);
             }
-        });
-        IOHelper.close(zos);
-        return baos.toByteArray();
+        }
+        zos.finish();
+    }
+
+    /**
+     * Builds the image zip on a separate thread and returns its read end, so the archive can be streamed to a
+     * response while it is written. If the archive cannot be finished, reading fails rather than ending early,
+     * and closing the stream stops the writer.
+     *
+     * @param imageList List
+     * @param manifestTitle String
+     * @return InputStream
+     * @throws IOException IOException
+     */
+    public static InputStream streamImageZip(final List<String> imageList, final String manifestTitle)
+            throws IOException {
+        return PipedStreams.stream("image-zip", out -> buildImageZip(imageList, manifestTitle, out));
+    }
+
+    private static byte[] getImageBytes(final String image) {
+        try (InputStream is = new URI(image).toURL().openStream()) {
+            return IOUtils.toByteArray(is);
+        } catch (IOException e) {
+            log.error(e.getMessage());
+            return null;
+        } catch (URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
     }
 }
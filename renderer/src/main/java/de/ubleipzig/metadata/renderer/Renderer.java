@@ -14,7 +14,9 @@
 
 package de.ubleipzig.metadata.renderer;
 
+import de.ubleipzig.metadata.processor.AdmissionControl;
 import de.ubleipzig.metadata.processor.ContextUtils;
+import de.ubleipzig.metadata.processor.RouteExecutors;
 import org.apache.camel.Exchange;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.impl.JndiRegistry;
@@ -23,6 +25,9 @@ import org.apache.camel.main.MainListenerSupport;
 import org.apache.camel.main.MainSupport;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 
+import java.util.concurrent.ExecutorService;
+
+import static de.ubleipzig.metadata.processor.RouteExecutors.CONTINUATION_TIMEOUT;
 import static org.apache.camel.Exchange.*;
 
 public class Renderer {
@@ -78,16 +83,20 @@ public class Renderer {
      * QueryRoute.
      */
     public static class QueryRoute extends RouteBuilder {
-
+        private final AdmissionControl admission = AdmissionControl.fromSystemProperties();
 
         /**
          * configure.
          */
         public void configure() {
+            final ExecutorService executor = RouteExecutors.create(getContext(), "renderer");
             from("jetty:http://{{api.host}}:{{api.port}}{{api.prefix}}?"
                     + "optionsEnabled=true&matchOnUriPrefix=true&sendServerVersion=false"
-                    + "&httpMethodRestrict=GET,OPTIONS")
+                    + "&httpMethodRestrict=GET,OPTIONS&continuationTimeout=" + CONTINUATION_TIMEOUT)
                     .routeId("Renderer")
+                    //reject when saturated, then leave the jetty thread for the route executor
+                    .process(admission)
+                    .threads().executorService(executor)
                     .removeHeaders(HTTP_ACCEPT)
                     .setHeader("Access-Control-Allow-Origin")
                     .constant("*")
@@ -110,10 +119,8 @@ public class Renderer {
                     .process(JsonLdExchange::getImageCount)
                     .when(header(SPARQL_QUERY).isEqualTo("pdf"))
                     .process(JsonLdExchange::processMap)
-                    .to("file://target")
                     .when(header(SPARQL_QUERY).isEqualTo("image"))
-                    .process(JsonLdExchange::processImageDownload)
-                    .to("file://target");
+                    .process(JsonLdExchange::processImageDownload);
         }
     }
 }
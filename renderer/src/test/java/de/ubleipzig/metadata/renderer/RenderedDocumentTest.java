@@ -0,0 +1,183 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.renderer;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RenderedDocumentTest {
+
+    private HttpServer server;
+
+    /**
+     * An image server with PNGs {@code /img/1} to {@code /img/3}, each {@code 10 * n} pixels wide, that answers
+     * other paths with 404. Later images are served first when fetched concurrently.
+     */
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/img/", exchange -> {
+            final String path = exchange.getRequestURI().getPath();
+            final int n = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+            if (n < 1 || n > 3) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            try {
+                Thread.sleep((4 - n) * 50L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            final byte[] body = png(n);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private static byte[] png(final int n) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(10 * n, 10, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private static byte[] noise(final int n) throws IOException {
+        final Random random = new Random(n);
+        final BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 100; x++) {
+            for (int y = 0; y < 100; y++) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private String image(final int n) {
+        return "http://localhost:" + server.getAddress().getPort() + "/img/" + n;
+    }
+
+    @Test
+    void testStreamImageZipKeepsOrder() throws Exception {
+        final List<String> names = new ArrayList<>();
+        final List<byte[]> bodies = new ArrayList<>();
+        try (ZipInputStream zis = new ZipInputStream(RenderedDocument.streamImageZip(
+                List.of(image(1), image(2), image(9), image(3)), "title"))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                assertEquals(ZipEntry.STORED, entry.getMethod());
+                names.add(entry.getName());
+                bodies.add(zis.readAllBytes());
+            }
+        }
+        //the missing image is skipped
+        assertEquals(List.of("title0.jpg", "title1.jpg", "title2.jpg"), names);
+        assertArrayEquals(png(1), bodies.get(0));
+        assertArrayEquals(png(2), bodies.get(1));
+        assertArrayEquals(png(3), bodies.get(2));
+    }
+
+    @Test
+    void testStreamImageZipReportsFailure() throws Exception {
+        try (InputStream is = RenderedDocument.streamImageZip(List.of(image(1), "http://bad host/img"), "title")) {
+            assertThrows(IOException.class, is::readAllBytes);
+        }
+    }
+
+    @Test
+    void testBuildPdfKeepsPageOrder() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RenderedDocument.buildPdf(List.of(image(1), image(2), image(3)), out);
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(out.toByteArray())))) {
+            assertEquals(3, pdf.getNumberOfPages());
+            for (int n = 1; n <= 3; n++) {
+                assertEquals(10 * n, pdf.getPage(n).getPageSize().getWidth(), 0.01);
+            }
+        }
+    }
+
+    @Test
+    void testBuildPdfReportsFailingImage() {
+        final RuntimeException e = assertThrows(RuntimeException.class, () -> RenderedDocument.buildPdf(
+                List.of(image(9), image(1)), new ByteArrayOutputStream()));
+        assertTrue(e.getMessage().contains(image(9)), e.getMessage());
+    }
+
+    @Test
+    void testBuildPdfWritesImagesBeforeClosing() throws Exception {
+        final int pages = 24;
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        //bytes of the document already written when the last image is requested
+        final AtomicInteger written = new AtomicInteger(-1);
+        server.createContext("/noise/", exchange -> {
+            final String path = exchange.getRequestURI().getPath();
+            final int n = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+            if (n == pages) {
+                written.set(out.size());
+            }
+            final byte[] body = noise(n);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        final String base = "http://localhost:" + server.getAddress().getPort() + "/noise/";
+        RenderedDocument.buildPdf(IntStream.rangeClosed(1, pages).mapToObj(n -> base + n).collect(
+                Collectors.toList()), out);
+        //the pages before the prefetch window are flushed with their images, so at least half of the
+        //noise images, each of about 30kB, must have reached the output
+        assertTrue(written.get() > pages / 2 * 30000, "written before the last image: " + written.get());
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(out.toByteArray())))) {
+            assertEquals(pages, pdf.getNumberOfPages());
+        }
+    }
+}
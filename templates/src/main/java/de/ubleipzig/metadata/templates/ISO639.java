@@ -22,6 +22,16 @@ public class ISO639 {
     @JsonProperty
     private List<Language> languages;
 
+    public ISO639() {
+    }
+
+    /**
+     * @param languages List
+     */
+    public ISO639(final List<Language> languages) {
+        this.languages = languages;
+    }
+
     public List<Language> getLanguages() {
         return languages;
     }
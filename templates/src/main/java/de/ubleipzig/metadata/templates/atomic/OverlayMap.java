@@ -0,0 +1,165 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.templates.atomic;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * OverlayMap.
+ *
+ * <p>A map view of a shared base map with a small per-instance overlay on top. Reads consult the overlay
+ * first, writes and removals go to the overlay only, so many atoms can share one manifest-level metadata map
+ * while each carries its own few entries. Entries iterate like a copy of the base map that received the same
+ * writes: base keys in base order, then the keys only the overlay holds in insertion order. Jackson
+ * serializes it as a plain map.</p>
+ */
+public final class OverlayMap extends AbstractMap<String, Object> {
+
+    private static final Object REMOVED = new Object();
+
+    private final Map<String, Object> base;
+    private final Map<String, Object> overlay = new LinkedHashMap<>(4);
+
+    /**
+     * @param base the shared map, which should be unmodifiable
+     */
+    public OverlayMap(final Map<String, Object> base) {
+        this.base = base;
+    }
+
+    @Override
+    public Object put(final String key, final Object value) {
+        final Object previous = get(key);
+        overlay.put(key, value);
+        return previous;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        if (overlay.containsKey(key)) {
+            final Object value = overlay.get(key);
+            return value == REMOVED ? null : value;
+        }
+        return base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        if (overlay.containsKey(key)) {
+            return overlay.get(key) != REMOVED;
+        }
+        return base.containsKey(key);
+    }
+
+    @Override
+    public Object remove(final Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        final Object previous = get(key);
+        if (base.containsKey(key)) {
+            overlay.put((String) key, REMOVED);
+        } else {
+            overlay.remove(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        overlay.clear();
+        base.keySet().forEach(key -> overlay.put(key, REMOVED));
+    }
+
+    @Override
+    public int size() {
+        int size = base.size();
+        for (Entry<String, Object> e : overlay.entrySet()) {
+            if (e.getValue() == REMOVED) {
+                size--;
+            } else if (!base.containsKey(e.getKey())) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return OverlayMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Iterates the base entries with their overlay values, then the entries only the overlay holds.
+     */
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private final Iterator<Entry<String, Object>> baseEntries = base.entrySet().iterator();
+        private final Iterator<Entry<String, Object>> overlayEntries = overlay.entrySet().iterator();
+        private Entry<String, Object> next;
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            while (baseEntries.hasNext()) {
+                final Entry<String, Object> e = baseEntries.next();
+                if (!overlay.containsKey(e.getKey())) {
+                    next = e;
+                    return true;
+                }
+                final Object value = overlay.get(e.getKey());
+                if (value != REMOVED) {
+                    next = new SimpleImmutableEntry<>(e.getKey(), value);
+                    return true;
+                }
+            }
+            while (overlayEntries.hasNext()) {
+                final Entry<String, Object> e = overlayEntries.next();
+                if (!base.containsKey(e.getKey())) {
+                    next = e;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Entry<String, Object> e = next;
+            next = null;
+            return e;
+        }
+    }
+}
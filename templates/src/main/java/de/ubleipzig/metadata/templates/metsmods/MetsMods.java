@@ -15,6 +15,9 @@ package de.ubleipzig.metadata.templates.metsmods;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +25,8 @@ public class MetsMods {
     @JsonProperty
     private List<Map<String, Object>> structures;
 
+    private volatile Map<String, List<Map<String, Object>>> structureIndex;
+
     public List<Map<String, Object>> getStructures() {
         return structures;
     }
@@ -31,4 +36,30 @@ public class MetsMods {
     public Map<String, Object> getMetadata() {
         return metadata;
     }
+
+    /**
+     * Finds the structures that have {@code structId} as one of their values, as
+     * {@code getStructures().stream().filter(s -> s.containsValue(structId))} does. The structures are indexed by
+     * their String values on the first call.
+     *
+     * @param structId String
+     * @return the matching structures, in order
+     */
+    public List<Map<String, Object>> getStructuresForId(final String structId) {
+        Map<String, List<Map<String, Object>>> index = structureIndex;
+        if (index == null) {
+            index = indexStructures();
+            structureIndex = index;
+        }
+        return index.getOrDefault(structId, Collections.emptyList());
+    }
+
+    private Map<String, List<Map<String, Object>>> indexStructures() {
+        final Map<String, List<Map<String, Object>>> index = new HashMap<>();
+        if (structures != null) {
+            structures.forEach(s -> s.values().stream().filter(String.class::isInstance).distinct().forEach(
+                    v -> index.computeIfAbsent((String) v, k -> new ArrayList<>(1)).add(s)));
+        }
+        return index;
+    }
 }
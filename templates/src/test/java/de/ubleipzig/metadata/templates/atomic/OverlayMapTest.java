@@ -0,0 +1,105 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.templates.atomic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OverlayMapTest {
+
+    private static Map<String, Object> base() {
+        final Map<String, Object> base = new LinkedHashMap<>();
+        base.put("Title", "a title");
+        base.put("manifest", "https://example.org/manifest");
+        base.put("license", "CC0");
+        return Collections.unmodifiableMap(base);
+    }
+
+    @Test
+    void testPutShadowsBase() {
+        final Map<String, Object> base = base();
+        final OverlayMap map = new OverlayMap(base);
+        assertEquals("a title", map.put("Title", "another title"));
+        assertNull(map.put("imageIndex", "1"));
+        assertEquals("another title", map.get("Title"));
+        assertEquals("1", map.get("imageIndex"));
+        assertEquals("a title", base.get("Title"));
+        assertFalse(base.containsKey("imageIndex"));
+    }
+
+    @Test
+    void testRemove() {
+        final Map<String, Object> base = base();
+        final OverlayMap map = new OverlayMap(base);
+        map.put("imageIndex", "1");
+        map.put("license", "CC-BY");
+        assertEquals("CC-BY", map.remove("license"));
+        assertEquals("1", map.remove("imageIndex"));
+        assertEquals("a title", map.remove("Title"));
+        assertNull(map.remove("Title"));
+        assertFalse(map.containsKey("license"));
+        assertFalse(map.containsKey("Title"));
+        assertEquals(Map.of("manifest", "https://example.org/manifest"), map);
+        assertEquals(3, base.size());
+
+        map.put("Title", "back again");
+        assertEquals("back again", map.get("Title"));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(3, base.size());
+    }
+
+    @Test
+    void testEntrySetWithOverlappingKeys() {
+        final OverlayMap map = new OverlayMap(base());
+        map.put("thumbnail", "https://example.org/iiif/1");
+        map.put("Title", "another title");
+        map.put("imageIndex", "1");
+
+        final Map<String, Object> expected = new LinkedHashMap<>(base());
+        expected.put("thumbnail", "https://example.org/iiif/1");
+        expected.put("Title", "another title");
+        expected.put("imageIndex", "1");
+
+        assertEquals(5, map.size());
+        assertEquals(5, map.entrySet().size());
+        assertEquals(expected, map);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+        assertEquals(List.of("another title", "https://example.org/manifest", "CC0", "https://example.org/iiif/1",
+                "1"), new ArrayList<>(map.values()));
+    }
+
+    @Test
+    void testSerializesAsPlainMap() throws Exception {
+        final ObjectMapper mapper = new ObjectMapper();
+        final OverlayMap map = new OverlayMap(base());
+        map.put("Title", "another title");
+        map.put("imageIndex", "1");
+        map.remove("license");
+        assertEquals("{\"Title\":\"another title\",\"manifest\":\"https://example.org/manifest\","
+                + "\"imageIndex\":\"1\"}", mapper.writeValueAsString(map));
+    }
+}
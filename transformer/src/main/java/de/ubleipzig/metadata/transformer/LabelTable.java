@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.transformer;
+
+import java.util.*;
+
+import static de.ubleipzig.metadata.transformer.MetadataApiEnum.DISPLAYORDER;
+
+/**
+ * LabelTable.
+ *
+ * <p>A {@code metadataLabels} bundle compiled once into immutable lookups of key to display label, display order
+ * and language.</p>
+ */
+public final class LabelTable {
+    public static final LabelTable ENGLISH = compile(Locale.ENGLISH);
+    public static final LabelTable DEUTSCH = compile(Locale.GERMAN);
+    private static final String PERIOD = ".";
+    private final String language;
+    private final Map<String, Label> labels;
+    private final List<Label> filteredLabels;
+
+    private LabelTable(final String language, final Map<String, Label> labels, final List<Label> filteredLabels) {
+        this.language = language;
+        this.labels = labels;
+        this.filteredLabels = filteredLabels;
+    }
+
+    /**
+     * @param locale Locale
+     * @return LabelTable
+     */
+    static LabelTable compile(final Locale locale) {
+        final ResourceBundle bundle = ResourceBundle.getBundle("metadataLabels", locale);
+        final String language = bundle.getLocale().toLanguageTag();
+        final String displayOrderSuffix = PERIOD + DISPLAYORDER.getApiKey();
+        final Map<String, Label> labels = new HashMap<>();
+        for (String key : bundle.keySet()) {
+            if (!key.endsWith(displayOrderSuffix)) {
+                final String displayOrderKey = key + displayOrderSuffix;
+                final Integer displayOrder = bundle.containsKey(displayOrderKey) ? Integer.valueOf(
+                        bundle.getString(displayOrderKey)) : null;
+                labels.put(key, new Label(key, bundle.getString(key), displayOrder, language));
+            }
+        }
+        //keep the order the labels were added in before the tables existed
+        final List<Label> filteredLabels = new ArrayList<>();
+        MetadataObjectTypes.buildFilteredLabelSet(bundle).forEach(k -> filteredLabels.add(labels.get(k)));
+        return new LabelTable(language, Collections.unmodifiableMap(labels),
+                Collections.unmodifiableList(filteredLabels));
+    }
+
+    /**
+     * @return String
+     */
+    public String getLanguage() {
+        return language;
+    }
+
+    /**
+     * @param key String
+     * @return Label
+     */
+    public Label get(final String key) {
+        final Label label = labels.get(key);
+        if (label == null) {
+            throw new MissingResourceException("No label for " + key, LabelTable.class.getName(), key);
+        }
+        return label;
+    }
+
+    /**
+     * @return the labels that are copied from the metadata as they are
+     */
+    public List<Label> getFilteredLabels() {
+        return filteredLabels;
+    }
+
+    public static final class Label {
+        private final String key;
+        private final String displayLabel;
+        private final Integer displayOrder;
+        private final String language;
+
+        private Label(final String key, final String displayLabel, final Integer displayOrder,
+                      final String language) {
+            this.key = key;
+            this.displayLabel = displayLabel;
+            this.displayOrder = displayOrder;
+            this.language = language;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getDisplayLabel() {
+            return displayLabel;
+        }
+
+        public Integer getDisplayOrder() {
+            return displayOrder;
+        }
+
+        public String getLanguage() {
+            return language;
+        }
+    }
+}
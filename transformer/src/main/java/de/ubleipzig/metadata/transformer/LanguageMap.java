@@ -18,26 +18,95 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import de.ubleipzig.metadata.templates.ISO639;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 
+import static java.util.Optional.ofNullable;
+
+/**
+ * LanguageMap.
+ *
+ * <p>The ISO 639-2 language table, read once per process and indexed by code. The table is shared by every
+ * instance and cannot be modified.</p>
+ */
 public class LanguageMap {
     private static final ObjectMapper MAPPER = new ObjectMapper();
     private final ISO639 iso639;
+    private final Map<String, ISO639.Language> languagesByCode;
 
+    /**
+     * @deprecated use {@link #getInstance()}, this instance shares its table
+     */
+    @Deprecated
     public LanguageMap() {
-        this.iso639 = mapLanguages();
+        this(getInstance());
+    }
+
+    private LanguageMap(final LanguageMap shared) {
+        this.iso639 = shared.iso639;
+        this.languagesByCode = shared.languagesByCode;
+    }
+
+    private LanguageMap(final ISO639 iso639) {
+        this.iso639 = new ISO639(Collections.unmodifiableList(iso639.getLanguages()));
+        final Map<String, ISO639.Language> index = new HashMap<>();
+        //the first entry wins where a code is listed twice
+        iso639.getLanguages().forEach(l -> ofNullable(l.getIso639_2()).ifPresent(c -> index.putIfAbsent(c, l)));
+        this.languagesByCode = Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * @return the LanguageMap, loaded on first use
+     */
+    public static LanguageMap getInstance() {
+        return Holder.INSTANCE;
     }
 
+    /**
+     * @return the language table, with an unmodifiable language list
+     */
     public ISO639 getISO639() {
         return iso639;
     }
 
+    /**
+     * @return the language table
+     * @deprecated use {@link #getISO639()}
+     */
+    @Deprecated
     public ISO639 mapLanguages() {
+        return getISO639();
+    }
+
+    /**
+     * @param code an ISO 639-2 code
+     * @return Optional
+     */
+    public Optional<ISO639.Language> getLanguage(final String code) {
+        return ofNullable(code).map(languagesByCode::get);
+    }
+
+    /**
+     * @param code an ISO 639-2 code
+     * @return the German language name, or null
+     */
+    public String getGermanName(final String code) {
+        return getLanguage(code).map(ISO639.Language::getGermanName).orElse(null);
+    }
+
+    private static ISO639 readLanguages() {
         try {
             return MAPPER.readValue(
-                    MetadataImplVersion2.class.getResourceAsStream("/iso639-2.json"), new TypeReference<ISO639>() {
+                    LanguageMap.class.getResourceAsStream("/iso639-2.json"), new TypeReference<ISO639>() {
                     });
         } catch (IOException e) {
             throw new RuntimeException("could not read language map " + e.getMessage());
         }
     }
+
+    private static final class Holder {
+        private static final LanguageMap INSTANCE = new LanguageMap(readLanguages());
+    }
 }
@@ -14,23 +14,20 @@
 
 package de.ubleipzig.metadata.transformer;
 
-import de.ubleipzig.metadata.templates.ISO639;
 import de.ubleipzig.metadata.templates.Metadata;
 import de.ubleipzig.metadata.templates.metsmods.MetsMods;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static de.ubleipzig.metadata.transformer.MetadataApiEnum.*;
 import static java.util.Optional.ofNullable;
 
 public class MetadataImplVersion2 extends MetadataObjectTypes implements MetadataApi<Metadata> {
-    private static final ResourceBundle deutschLabels = ResourceBundle.getBundle("metadataLabels", Locale.GERMAN);
-    private static final ResourceBundle englishLabels = ResourceBundle.getBundle("metadataLabels", Locale.ENGLISH);
-    private static final String PERIOD = ".";
+    private static final LabelTable deutschLabels = LabelTable.DEUTSCH;
+    private static final LabelTable englishLabels = LabelTable.ENGLISH;
     private MetsMods metsMods;
     private List<Metadata> finalMetadata = new ArrayList<>();
-    private final LanguageMap languageMap = new LanguageMap();
+    private final LanguageMap languageMap = LanguageMap.getInstance();
 
     public MetadataImplVersion2() {
     }
@@ -48,9 +45,8 @@ public class MetadataImplVersion2 extends MetadataObjectTypes implements Metadat
     private List<Metadata> setAuthor(List<Metadata> mList, final Map<String, String> authorMap) {
         final Optional<String> gnd = ofNullable(authorMap.get(GND.getApiKey()));
         final String authorKey = AUTHOR.getApiKey();
-        final String authorLabel = englishLabels.getString(authorKey);
-        final String displayOrderKey = authorKey + PERIOD + DISPLAYORDER.getApiKey();
-        final Integer authorLabelDisplayOrder = Integer.valueOf(englishLabels.getString(displayOrderKey));
+        final String authorLabel = englishLabels.get(authorKey).getDisplayLabel();
+        final Integer authorLabelDisplayOrder = englishLabels.get(authorKey).getDisplayOrder();
         if (gnd.isPresent()) {
             final String author = authorMap.get(LABEL.getApiKey());
             final String authorValue = author + " [" + gnd.get() + "]";
@@ -89,10 +85,7 @@ public class MetadataImplVersion2 extends MetadataObjectTypes implements Metadat
     }
 
     private String getGermanLanguageNameForCode(final String key) {
-        final ISO639 iso639 = languageMap.getISO639();
-        final List<ISO639.Language> languages = iso639.getLanguages();
-        final Optional<ISO639.Language> lang = languages.stream().filter(y -> y.getIso639_2().equals(key)).findAny();
-        return lang.map(ISO639.Language::getGermanName).orElse(null);
+        return languageMap.getGermanName(key);
     }
 
     private List<Metadata> addMetadataStringOrList(final Map<String, Object> newMetadata, final String key,
@@ -126,18 +119,16 @@ public class MetadataImplVersion2 extends MetadataObjectTypes implements Metadat
 
     private List<Metadata> setCollections() {
         final String collectionKey = COLLECTION.getApiKey();
-        final String collectionLabel = englishLabels.getString(collectionKey);
-        final String displayOrderKey = collectionKey + PERIOD + DISPLAYORDER.getApiKey();
-        final Integer collectionLabelOrder = Integer.valueOf(englishLabels.getString(displayOrderKey));
+        final String collectionLabel = englishLabels.get(collectionKey).getDisplayLabel();
+        final Integer collectionLabelOrder = englishLabels.get(collectionKey).getDisplayOrder();
         final Map<String, Object> newMetadata = metsMods.getMetadata();
         return addMetadataStringOrList(newMetadata, collectionKey, collectionLabel, collectionLabelOrder);
     }
 
     private List<Metadata> setLanguages() {
         final String languageKey = LANGUAGE.getApiKey();
-        final String languageLabel = englishLabels.getString(languageKey);
-        final String displayOrderKey = languageKey + PERIOD + DISPLAYORDER.getApiKey();
-        final Integer languageLabelOrder = Integer.valueOf(englishLabels.getString(displayOrderKey));
+        final String languageLabel = englishLabels.get(languageKey).getDisplayLabel();
+        final Integer languageLabelOrder = englishLabels.get(languageKey).getDisplayOrder();
         final Map<String, Object> newMetadata = metsMods.getMetadata();
         return addMetadataStringOrList(newMetadata, languageKey, languageLabel, languageLabelOrder);
     }
@@ -165,9 +156,8 @@ public class MetadataImplVersion2 extends MetadataObjectTypes implements Metadat
         final String manifestTypeKey = MANIFESTTYPE.getApiKey();
         final Optional<String> manifestType = getValueAsString(newMetadata, manifestTypeKey);
         if (manifestType.isPresent()) {
-            final String manifestTypeLabel = englishLabels.getString(manifestTypeKey);
-            final String manifestTypeLabelDisplayOrderKey = manifestTypeKey + PERIOD + DISPLAYORDER.getApiKey();
-            final Integer displayOrder = Integer.valueOf(englishLabels.getString(manifestTypeLabelDisplayOrderKey));
+            final String manifestTypeLabel = englishLabels.get(manifestTypeKey).getDisplayLabel();
+            final Integer displayOrder = englishLabels.get(manifestTypeKey).getDisplayOrder();
             final Metadata manifestTypeObj = buildMetadata(manifestTypeLabel, manifestType.get(), displayOrder);
             finalMetadata.add(manifestTypeObj);
             if (manifestType.get().equals(MANUSCRIPT.getApiKey())) {
@@ -181,21 +171,14 @@ public class MetadataImplVersion2 extends MetadataObjectTypes implements Metadat
             }
         }
 
-        final Set<String> enFilteredLabels = buildFilteredLabelSet(englishLabels);
-        final Set<String> deFilteredLabels = buildFilteredLabelSet(deutschLabels);
-        setFilteredLabelMetadata(newMetadata, enFilteredLabels, englishLabels);
-        setFilteredLabelMetadata(newMetadata, deFilteredLabels, deutschLabels);
+        setFilteredLabelMetadata(newMetadata, englishLabels);
+        setFilteredLabelMetadata(newMetadata, deutschLabels);
         finalMetadata.sort(Comparator.comparing(Metadata::getDisplayOrder));
     }
 
-    private void setFilteredLabelMetadata(final Map<String, Object> newMetadata, final Set<String> filteredLabels,
-                                          final ResourceBundle bundle) {
-        filteredLabels.forEach(l -> {
-            final String displayLabel = bundle.getString(l);
-            final String displayOrderKey = l + PERIOD + DISPLAYORDER.getApiKey();
-            final Integer displayOrder = Integer.valueOf(bundle.getString(displayOrderKey));
-            finalMetadata = addMetadataObject(newMetadata, l, displayLabel, displayOrder);
-        });
+    private void setFilteredLabelMetadata(final Map<String, Object> newMetadata, final LabelTable labels) {
+        labels.getFilteredLabels().forEach(l -> finalMetadata = addMetadataObject(
+                newMetadata, l.getKey(), l.getDisplayLabel(), l.getDisplayOrder()));
     }
 
     @Override
@@ -203,12 +186,10 @@ public class MetadataImplVersion2 extends MetadataObjectTypes implements Metadat
         final List<Metadata> mList = new ArrayList<>();
         final String authorKey = AUTHOR.getApiKey();
         final String authorNameKey = LABEL.getApiKey();
-        final String authorLabel = englishLabels.getString(authorKey);
-        final String displayOrderKey = authorKey + PERIOD + DISPLAYORDER.getApiKey();
-        final Integer authorLabelDisplayOrder = Integer.valueOf(englishLabels.getString(displayOrderKey));
-        final List<Map<String, Object>> structureMetadata = metsMods.getStructures();
+        final String authorLabel = englishLabels.get(authorKey).getDisplayLabel();
+        final Integer authorLabelDisplayOrder = englishLabels.get(authorKey).getDisplayOrder();
         final Optional<List<Map<String, Object>>> filteredSubList = Optional.of(
-                structureMetadata.stream().filter(s -> s.containsValue(structId)).collect(Collectors.toList()));
+                metsMods.getStructuresForId(structId));
         filteredSubList.ifPresent(maps -> maps.forEach(sm -> {
             if (getValueAsMap(sm, authorKey).isPresent()) {
                 final Map<String, String> authorMap = getValueAsMap(sm, authorKey).get();
@@ -227,7 +208,7 @@ public class MetadataImplVersion2 extends MetadataObjectTypes implements Metadat
             final String structureTypeKey = STRUCTTYPE.getApiKey();
             final Optional<String> structureType = getValueAsString(sm, structureTypeKey);
             if (structureType.isPresent()) {
-                final String structureTypeLabel = englishLabels.getString(structureTypeKey);
+                final String structureTypeLabel = englishLabels.get(structureTypeKey).getDisplayLabel();
                 final Metadata structureTypeObj = buildMetadata(structureTypeLabel, structureType.get(), 1);
                 mList.add(structureTypeObj);
             }
@@ -18,15 +18,13 @@ import de.ubleipzig.metadata.templates.metsmods.MetsMods;
 import de.ubleipzig.metadata.templates.v3.MetadataVersion3;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static de.ubleipzig.metadata.transformer.MetadataApiEnum.*;
 import static java.util.Optional.ofNullable;
 
 public class MetadataImplVersion3 extends MetadataObjectTypes implements MetadataApi<MetadataVersion3> {
-    private static final ResourceBundle deutschLabels = ResourceBundle.getBundle("metadataLabels", Locale.GERMAN);
-    private static final ResourceBundle englishLabels = ResourceBundle.getBundle("metadataLabels", Locale.ENGLISH);
-    private static final String PERIOD = ".";
+    private static final LabelTable deutschLabels = LabelTable.DEUTSCH;
+    private static final LabelTable englishLabels = LabelTable.ENGLISH;
     private static final String ENGLISH = "en";
     private static final String DEUTSCH = "de";
     private static final String NONE = "@none";
@@ -49,9 +47,8 @@ public class MetadataImplVersion3 extends MetadataObjectTypes implements Metadat
     private List<MetadataVersion3> setAuthor(List<MetadataVersion3> mList, Map<String, String> authorMap) {
         final Optional<String> gnd = ofNullable(authorMap.get(GND.getApiKey()));
         final String authorKey = AUTHOR.getApiKey();
-        final String authorLabel = englishLabels.getString(authorKey);
-        final String displayOrderKey = authorKey + PERIOD + DISPLAYORDER.getApiKey();
-        final Integer authorLabelDisplayOrder = Integer.valueOf(englishLabels.getString(displayOrderKey));
+        final String authorLabel = englishLabels.get(authorKey).getDisplayLabel();
+        final Integer authorLabelDisplayOrder = englishLabels.get(authorKey).getDisplayOrder();
         if (gnd.isPresent()) {
             final String author = authorMap.get(LABEL.getApiKey());
             final String authorValue = author + " [" + gnd.get() + "]";
@@ -124,18 +121,16 @@ public class MetadataImplVersion3 extends MetadataObjectTypes implements Metadat
 
     private List<MetadataVersion3> setCollections() {
         final String collectionKey = COLLECTION.getApiKey();
-        final String collectionLabel = englishLabels.getString(collectionKey);
-        final String displayOrderKey = collectionKey + PERIOD + DISPLAYORDER.getApiKey();
-        final Integer collectionLabelOrder = Integer.valueOf(englishLabels.getString(displayOrderKey));
+        final String collectionLabel = englishLabels.get(collectionKey).getDisplayLabel();
+        final Integer collectionLabelOrder = englishLabels.get(collectionKey).getDisplayOrder();
         final Map<String, Object> newMetadata = metsMods.getMetadata();
         return addMetadataStringOrList(ENGLISH, newMetadata, collectionKey, collectionLabel, collectionLabelOrder);
     }
 
     private List<MetadataVersion3> setLanguages() {
         final String languageKey = LANGUAGE.getApiKey();
-        final String languageLabel = englishLabels.getString(languageKey);
-        final String displayOrderKey = languageKey + PERIOD + DISPLAYORDER.getApiKey();
-        final Integer languageLabelOrder = Integer.valueOf(englishLabels.getString(displayOrderKey));
+        final String languageLabel = englishLabels.get(languageKey).getDisplayLabel();
+        final Integer languageLabelOrder = englishLabels.get(languageKey).getDisplayOrder();
         final Map<String, Object> newMetadata = metsMods.getMetadata();
         return addMetadataStringOrList(ENGLISH, newMetadata, languageKey, languageLabel, languageLabelOrder);
     }
@@ -163,9 +158,8 @@ public class MetadataImplVersion3 extends MetadataObjectTypes implements Metadat
         final String manifestTypeKey = MANIFESTTYPE.getApiKey();
         final Optional<String> manifestType = getValueAsString(newMetadata, manifestTypeKey);
         if (manifestType.isPresent()) {
-            final String manifestTypeLabel = englishLabels.getString(manifestTypeKey);
-            final String manifestTypeLabelDisplayOrderKey = manifestTypeKey + PERIOD + DISPLAYORDER.getApiKey();
-            final Integer displayOrder = Integer.valueOf(englishLabels.getString(manifestTypeLabelDisplayOrderKey));
+            final String manifestTypeLabel = englishLabels.get(manifestTypeKey).getDisplayLabel();
+            final Integer displayOrder = englishLabels.get(manifestTypeKey).getDisplayOrder();
             final MetadataVersion3 manifestTypeObj = buildMetadata(
                     ENGLISH, manifestTypeLabel, manifestType.get(), displayOrder);
             finalMetadata.add(manifestTypeObj);
@@ -180,24 +174,20 @@ public class MetadataImplVersion3 extends MetadataObjectTypes implements Metadat
             }
         }
 
-        final Set<String> enFilteredLabels = buildFilteredLabelSet(englishLabels);
-        final Set<String> deFilteredLabels = buildFilteredLabelSet(deutschLabels);
-        setFilteredLabelMetadata(newMetadata, enFilteredLabels, englishLabels);
-        setFilteredLabelMetadata(newMetadata, deFilteredLabels, deutschLabels);
+        setFilteredLabelMetadata(newMetadata, englishLabels);
+        setFilteredLabelMetadata(newMetadata, deutschLabels);
         finalMetadata.sort(Comparator.comparing(MetadataVersion3::getDisplayOrder));
     }
 
-    private void setFilteredLabelMetadata(final Map<String, Object> newMetadata, final Set<String> filteredLabels,
-                                          final ResourceBundle bundle) {
-        filteredLabels.forEach(l -> {
-            final String displayLabel = bundle.getString(l);
-            final String displayOrderKey = l + PERIOD + DISPLAYORDER.getApiKey();
-            final Integer displayOrder = Integer.valueOf(bundle.getString(displayOrderKey));
-            final String languageTag = bundle.getLocale().toLanguageTag();
+    private void setFilteredLabelMetadata(final Map<String, Object> newMetadata, final LabelTable labels) {
+        final String languageTag = labels.getLanguage();
+        labels.getFilteredLabels().forEach(l -> {
             if (languageTag.equals(ENGLISH)) {
-                finalMetadata = addMetadataObject(ENGLISH, newMetadata, l, displayLabel, displayOrder);
+                finalMetadata = addMetadataObject(
+                        ENGLISH, newMetadata, l.getKey(), l.getDisplayLabel(), l.getDisplayOrder());
             } else if (languageTag.equals(DEUTSCH)) {
-                finalMetadata = addMetadataObject(DEUTSCH, newMetadata, l, displayLabel, displayOrder);
+                finalMetadata = addMetadataObject(
+                        DEUTSCH, newMetadata, l.getKey(), l.getDisplayLabel(), l.getDisplayOrder());
             }
         });
     }
@@ -207,12 +197,10 @@ public class MetadataImplVersion3 extends MetadataObjectTypes implements Metadat
         final List<MetadataVersion3> mList = new ArrayList<>();
         final String authorKey = AUTHOR.getApiKey();
         final String authorNameKey = LABEL.getApiKey();
-        final String authorLabel = englishLabels.getString(authorKey);
-        final String displayOrderKey = authorKey + PERIOD + DISPLAYORDER.getApiKey();
-        final Integer authorLabelDisplayOrder = Integer.valueOf(englishLabels.getString(displayOrderKey));
-        final List<Map<String, Object>> structureMetadata = metsMods.getStructures();
+        final String authorLabel = englishLabels.get(authorKey).getDisplayLabel();
+        final Integer authorLabelDisplayOrder = englishLabels.get(authorKey).getDisplayOrder();
         final Optional<List<Map<String, Object>>> filteredSubList = Optional.of(
-                structureMetadata.stream().filter(s -> s.containsValue(structId)).collect(Collectors.toList()));
+                metsMods.getStructuresForId(structId));
         filteredSubList.ifPresent(maps -> maps.forEach(sm -> {
             if (getValueAsMap(sm, authorKey).isPresent()) {
                 final Map<String, String> authorMap = getValueAsMap(sm, authorKey).get();
@@ -233,7 +221,7 @@ public class MetadataImplVersion3 extends MetadataObjectTypes implements Metadat
             final String structureTypeKey = STRUCTTYPE.getApiKey();
             final Optional<String> structureType = getValueAsString(sm, structureTypeKey);
             if (structureType.isPresent()) {
-                final String structureTypeLabel = englishLabels.getString(structureTypeKey);
+                final String structureTypeLabel = englishLabels.get(structureTypeKey).getDisplayLabel();
                 final MetadataVersion3 structureTypeObj = buildMetadata(
                         ENGLISH, structureTypeLabel, structureType.get(), 1);
                 mList.add(structureTypeObj);
@@ -47,7 +47,7 @@ public abstract class MetadataObjectTypes {
         return value.filter(String.class::isInstance).map(String.class::cast);
     }
 
-    Set<String> buildFilteredLabelSet(final ResourceBundle bundle) {
+    static Set<String> buildFilteredLabelSet(final ResourceBundle bundle) {
         final Enumeration<String> bundleLabelKeys = bundle.getKeys();
         final Stream<String> labelStream = StreamSupport.stream(
                 Spliterators.spliteratorUnknownSize(bundleLabelKeys.asIterator(), Spliterator.ORDERED), false);
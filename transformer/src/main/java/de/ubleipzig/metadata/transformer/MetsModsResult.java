@@ -0,0 +1,83 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.transformer;
+
+import de.ubleipzig.metadata.templates.metsmods.MetsMods;
+
+/**
+ * MetsModsResult.
+ *
+ * <p>The outcome of one lookup in a batch: the record, or the error that prevented it.</p>
+ */
+public final class MetsModsResult {
+
+    private final String identifier;
+    private final MetsMods metsMods;
+    private final String error;
+
+    private MetsModsResult(final String identifier, final MetsMods metsMods, final String error) {
+        this.identifier = identifier;
+        this.metsMods = metsMods;
+        this.error = error;
+    }
+
+    /**
+     * @param identifier String
+     * @param metsMods MetsMods
+     * @return MetsModsResult
+     */
+    public static MetsModsResult success(final String identifier, final MetsMods metsMods) {
+        return new MetsModsResult(identifier, metsMods, null);
+    }
+
+    /**
+     * @param identifier String
+     * @param error String
+     * @return MetsModsResult
+     */
+    public static MetsModsResult failure(final String identifier, final String error) {
+        return new MetsModsResult(identifier, null, error);
+    }
+
+    /**
+     * @return the URN or PPN that was looked up
+     */
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * @return MetsMods, null if the lookup failed
+     */
+    public MetsMods getMetsMods() {
+        return metsMods;
+    }
+
+    /**
+     * @return the error message, null if the lookup succeeded
+     */
+    public String getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return "MetsModsResult{identifier=" + identifier + (isSuccess() ? "" : ", error=" + error) + "}";
+    }
+}
@@ -16,9 +16,11 @@ package de.ubleipzig.metadata.transformer;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ubleipzig.metadata.processor.PrefetchIterator;
 import de.ubleipzig.metadata.templates.Metadata;
 import de.ubleipzig.metadata.templates.metsmods.MetsMods;
 import de.ubleipzig.metadata.templates.metsmods.RecordList;
+import de.ubleipzig.metadata.transformer.cache.MetsModsCache;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.jena.commonsrdf.JenaRDF;
@@ -33,7 +35,12 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static java.io.File.separator;
 import static java.util.Optional.ofNullable;
@@ -43,6 +50,9 @@ public class XmlDbAccessor {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
     private static final JenaRDF rdf = new JenaRDF();
+    private static final int BATCH_CONCURRENCY = Integer.getInteger("metsmods.batch.concurrency", 8);
+    private static final int HOST_CONCURRENCY = Integer.getInteger("metsmods.batch.hostConcurrency", 8);
+    private static final Map<String, Semaphore> HOST_PERMITS = new ConcurrentHashMap<>();
     private final LdpClient client = new LdpClientImpl();
     private final String xmldbHost;
 
@@ -72,12 +82,9 @@ public class XmlDbAccessor {
 
     public MetsMods getMetadataFromAPI(String urn) {
         final IRI jsonAPI = rdf.createIRI(xmldbHost + "/exist/restxq/mets" + separator + urn);
-        final String res;
         try {
-            res = client.getDefaultType(jsonAPI);
-            return MAPPER.readValue(res, new TypeReference<MetsMods>() {
-            });
-        } catch (LdpClientException | IOException e) {
+            return MetsModsCache.getInstance().get(jsonAPI.getIRIString(), () -> fetch(jsonAPI));
+        } catch (RuntimeException e) {
             log.error("URN Api Request Failed for URN {}", urn);
             throw new RuntimeException("URN Api Request Failed" + e.getMessage());
         }
@@ -85,17 +92,58 @@ public class XmlDbAccessor {
 
     public MetsMods getMetadataFromAPIwithPPN(String ppn) {
         final IRI jsonAPI = rdf.createIRI(xmldbHost + "/exist/restxq/mets/ppn" + separator + ppn);
-        final String res;
         try {
-            res = client.getDefaultType(jsonAPI);
-            return MAPPER.readValue(res, new TypeReference<MetsMods>() {
-            });
-        } catch (LdpClientException | IOException e) {
+            return MetsModsCache.getInstance().get(jsonAPI.getIRIString(), () -> fetch(jsonAPI));
+        } catch (RuntimeException e) {
             log.error("PPN Api Request Failed for PPN {}", ppn);
             throw new RuntimeException("PPN Api Request Failed" + e.getMessage());
         }
     }
 
+    /**
+     * Looks up many URNs, {@code metsmods.batch.concurrency} at a time. Failures are reported per URN.
+     *
+     * @param urns List
+     * @return an ordered Stream of results that cancels outstanding lookups when closed
+     */
+    public Stream<MetsModsResult> getMetadataFromAPI(List<String> urns) {
+        return batch(urns, this::getMetadataFromAPI);
+    }
+
+    /**
+     * Looks up many PPNs, {@code metsmods.batch.concurrency} at a time. Failures are reported per PPN.
+     *
+     * @param ppns List
+     * @return an ordered Stream of results that cancels outstanding lookups when closed
+     */
+    public Stream<MetsModsResult> getMetadataFromAPIwithPPN(List<String> ppns) {
+        return batch(ppns, this::getMetadataFromAPIwithPPN);
+    }
+
+    private Stream<MetsModsResult> batch(final List<String> identifiers, final Function<String, MetsMods> lookup) {
+        return PrefetchIterator.stream(identifiers, id -> {
+            try {
+                return MetsModsResult.success(id, lookup.apply(id));
+            } catch (RuntimeException e) {
+                return MetsModsResult.failure(id, e.getMessage());
+            }
+        }, BATCH_CONCURRENCY);
+    }
+
+    /**
+     * Requests an API resource, holding one of the {@code metsmods.batch.hostConcurrency} permits of its host.
+     */
+    private String fetch(final IRI jsonAPI) throws LdpClientException, InterruptedException {
+        final Semaphore permits = HOST_PERMITS.computeIfAbsent(URI.create(jsonAPI.getIRIString()).getAuthority(),
+                h -> new Semaphore(HOST_CONCURRENCY));
+        permits.acquire();
+        try {
+            return client.getDefaultType(jsonAPI);
+        } finally {
+            permits.release();
+        }
+    }
+
     public List<URL> buildMetsModsJsonApiURLList() {
         final IRI jsonAPI = rdf.createIRI(xmldbHost + "/exist/restxq/mets");
         final String res;
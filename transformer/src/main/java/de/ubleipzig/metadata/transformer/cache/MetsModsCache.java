@@ -0,0 +1,148 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.transformer.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import de.ubleipzig.metadata.templates.metsmods.MetsMods;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MetsModsCache.
+ *
+ * <p>Process wide cache of MetsMods API responses keyed by request IRI, so a URN and a PPN lookup are cached
+ * independently. Parsed records are held in memory with size and TTL eviction and, when
+ * {@code metsmods.cache.dir} is set, the raw responses are kept in a {@link MetsModsStore} that survives
+ * restarts. Concurrent lookups of the same key share one load. Cached records are shared between callers and
+ * must not be modified.</p>
+ *
+ * <p>System properties: {@code metsmods.cache.size} (default 10000 records), {@code metsmods.cache.ttl} in
+ * seconds (default 86400, applies to both tiers) and {@code metsmods.cache.dir}.</p>
+ */
+@Slf4j
+public final class MetsModsCache {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final MetsModsCache INSTANCE = new MetsModsCache(
+            Long.getLong("metsmods.cache.size", 10000L), Long.getLong("metsmods.cache.ttl", 86400L),
+            buildStore(System.getProperty("metsmods.cache.dir")));
+
+    private final Cache<String, MetsMods> cache;
+    private final MetsModsStore store;
+    private final long ttlMillis;
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maximumSize long
+     * @param ttlSeconds long
+     * @param store MetsModsStore, may be null
+     */
+    public MetsModsCache(final long maximumSize, final long ttlSeconds, final MetsModsStore store) {
+        this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttlSeconds,
+                TimeUnit.SECONDS).recordStats().build();
+        this.store = store;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+    }
+
+    /**
+     * @return the shared MetsModsCache
+     */
+    public static MetsModsCache getInstance() {
+        return INSTANCE;
+    }
+
+    private static MetsModsStore buildStore(final String dir) {
+        if (dir == null) {
+            return null;
+        }
+        try {
+            return new MetsModsStore(Paths.get(dir));
+        } catch (IOException e) {
+            log.error("Could not open MetsMods store {}, using memory only: {}", dir, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Gets the record for a key, calling the loader only if neither tier holds a fresh response. Failed loads
+     * are not cached.
+     *
+     * @param key String
+     * @param loader Callable returning the JSON response
+     * @return MetsMods
+     */
+    public MetsMods get(final String key, final Callable<String> loader) {
+        try {
+            return cache.get(key, () -> load(key, loader));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private MetsMods load(final String key, final Callable<String> loader) throws Exception {
+        if (store != null) {
+            final Optional<String> stored = store.get(key, System.currentTimeMillis() - ttlMillis);
+            if (stored.isPresent()) {
+                diskHits.increment();
+                return MAPPER.readValue(stored.get(), MetsMods.class);
+            }
+        }
+        misses.increment();
+        final String json = loader.call();
+        final MetsMods metsMods = MAPPER.readValue(json, MetsMods.class);
+        if (store != null) {
+            store.put(key, json);
+        }
+        return metsMods;
+    }
+
+    /**
+     * @return number of lookups answered from memory
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    /**
+     * @return number of lookups answered from the disk tier
+     */
+    public long getDiskHitCount() {
+        return diskHits.sum();
+    }
+
+    /**
+     * @return number of lookups that went to the API
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "MetsModsCache{hits=" + getHitCount() + ", diskHits=" + getDiskHitCount() + ", misses="
+                + getMissCount() + ", size=" + cache.size() + ", evictions=" + cache.stats().evictionCount() + "}";
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.transformer.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * MetsModsStore.
+ *
+ * <p>Directory of MetsMods API responses that survives restarts. Each response is one file named by the
+ * SHA-256 of its key, written to a temporary file and moved into place so readers never see a partial
+ * response. Its age is the file's modification time.</p>
+ */
+public final class MetsModsStore {
+
+    private final Path dir;
+
+    /**
+     * @param dir Path, created if missing
+     * @throws IOException IOException
+     */
+    public MetsModsStore(final Path dir) throws IOException {
+        this.dir = Files.createDirectories(dir);
+    }
+
+    private Path file(final String key) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(UTF_8));
+            return dir.resolve(HexFormat.of().formatHex(hash) + ".json");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @param key String
+     * @param notBefore epoch millis, older responses are ignored
+     * @return the stored response
+     */
+    public Optional<String> get(final String key, final long notBefore) {
+        final Path file = file(key);
+        try {
+            if (Files.getLastModifiedTime(file).toMillis() < notBefore) {
+                return Optional.empty();
+            }
+            return Optional.of(Files.readString(file, UTF_8));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param key String
+     * @param json String
+     */
+    public void put(final String key, final String json) {
+        final Path file = file(key);
+        try {
+            final Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            Files.writeString(tmp, json, UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.transformer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.MissingResourceException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LabelTableTest {
+
+    @Test
+    void testLookups() {
+        final LabelTable.Label author = LabelTable.ENGLISH.get("author");
+        assertEquals("Author", author.getDisplayLabel());
+        assertEquals(Integer.valueOf(3), author.getDisplayOrder());
+        assertEquals("en", author.getLanguage());
+        assertEquals("de", LabelTable.DEUTSCH.get("umfang").getLanguage());
+        assertThrows(MissingResourceException.class, () -> LabelTable.ENGLISH.get("umfang"));
+    }
+
+    @Test
+    void testFilteredLabels() {
+        final Set<String> keys = LabelTable.ENGLISH.getFilteredLabels().stream().map(LabelTable.Label::getKey)
+                .collect(Collectors.toSet());
+        assertTrue(keys.contains("callNumber"));
+        assertFalse(keys.contains("author"));
+        assertFalse(keys.contains("manifestType"));
+        assertEquals(6, LabelTable.DEUTSCH.getFilteredLabels().size());
+    }
+}
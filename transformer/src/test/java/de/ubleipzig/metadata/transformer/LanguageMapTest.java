@@ -19,12 +19,17 @@ import org.junit.jupiter.api.Test;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 public class LanguageMapTest {
 
     @Test
     void testGetLanguageMap() {
-       final MetadataImplVersion2 metadataImplVersion2 = new MetadataImplVersion2();
-        final LanguageMap languageMap = new LanguageMap();
+        final LanguageMap languageMap = LanguageMap.getInstance();
         final ISO639 iso639 = languageMap.getISO639();
         final List<ISO639.Language> languages = iso639.getLanguages();
         final Optional<ISO639.Language> german = languages.stream().filter(
@@ -34,4 +39,28 @@ public class LanguageMapTest {
             System.out.println(name);
         }
     }
+
+    @Test
+    void testIndexedLookup() {
+        final LanguageMap languageMap = LanguageMap.getInstance();
+        assertSame(languageMap, LanguageMap.getInstance());
+        languageMap.getISO639().getLanguages().forEach(l -> assertEquals(
+                languageMap.getISO639().getLanguages().stream().filter(y -> y.getIso639_2().equals(l.getIso639_2()))
+                        .findFirst().map(ISO639.Language::getGermanName).orElse(null),
+                languageMap.getGermanName(l.getIso639_2())));
+        assertEquals("Latein", languageMap.getGermanName("lat"));
+        assertNull(languageMap.getGermanName("xxx"));
+        assertFalse(languageMap.getLanguage(null).isPresent());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testDeprecatedConstructorSharesUnmodifiableTable() {
+        final LanguageMap languageMap = new LanguageMap();
+        assertSame(LanguageMap.getInstance().getISO639().getLanguages(), languageMap.getISO639().getLanguages());
+        assertSame(languageMap.getISO639(), languageMap.mapLanguages());
+        assertEquals("Latein", languageMap.getGermanName("lat"));
+        final List<ISO639.Language> languages = languageMap.getISO639().getLanguages();
+        assertThrows(UnsupportedOperationException.class, () -> languages.remove(0));
+    }
 }
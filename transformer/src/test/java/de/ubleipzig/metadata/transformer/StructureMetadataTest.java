@@ -0,0 +1,68 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.transformer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ubleipzig.metadata.templates.Metadata;
+import de.ubleipzig.metadata.templates.metsmods.MetsMods;
+import de.ubleipzig.metadata.templates.v3.MetadataVersion3;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class StructureMetadataTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static MetsMods metsMods() {
+        final List<Map<String, Object>> structures = new ArrayList<>();
+        structures.add(Map.of("structId", "LOG_0000", "structType", "manuscript"));
+        structures.add(Map.of("structId", "LOG_0001", "structType", "chapter", "author",
+                Map.of("label", "Paulinus", "GND", "http://d-nb.info/gnd/118882252")));
+        structures.add(Map.of("structId", "LOG_0002", "structType", "chapter", "author", Map.of("label", "Anon")));
+        return MAPPER.convertValue(Map.of("metadata", Map.of(), "structures", structures), MetsMods.class);
+    }
+
+    @Test
+    void testGetStructuresForId() {
+        final MetsMods metsMods = metsMods();
+        for (String id : List.of("LOG_0000", "LOG_0001", "LOG_0002", "chapter", "LOG_0009")) {
+            assertEquals(metsMods.getStructures().stream().filter(s -> s.containsValue(id)).collect(
+                    Collectors.toList()), metsMods.getStructuresForId(id));
+        }
+    }
+
+    @Test
+    void testBuildStructureMetadataForId() {
+        final MetadataImplVersion2 v2 = new MetadataImplVersion2();
+        v2.setMetsMods(metsMods());
+        final List<Metadata> metadata = v2.buildStructureMetadataForId("LOG_0001");
+        assertEquals(List.of("Author", "Structure Type"), metadata.stream().map(Metadata::getLabel).collect(
+                Collectors.toList()));
+        assertEquals("Paulinus [http://d-nb.info/gnd/118882252]", metadata.get(0).getValue());
+        assertNull(v2.buildStructureMetadataForId("LOG_0009"));
+
+        final MetadataImplVersion3 v3 = new MetadataImplVersion3();
+        v3.setMetsMods(metsMods());
+        final List<MetadataVersion3> metadataVersion3 = v3.buildStructureMetadataForId("LOG_0002");
+        assertEquals(2, metadataVersion3.size());
+        assertEquals(List.of("Anon"), metadataVersion3.get(0).getValue().get("@none"));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.transformer;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class XmlDbAccessorTest {
+
+    private HttpServer server;
+
+    /**
+     * A MetsMods API stub that answers every URN except "missing".
+     */
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/exist/restxq/mets/", exchange -> {
+            final String path = exchange.getRequestURI().getPath();
+            final String urn = path.substring(path.lastIndexOf('/') + 1);
+            final byte[] body = ("{\"metadata\":{\"urn\":\"" + urn + "\"},\"structures\":[]}").getBytes(UTF_8);
+            exchange.sendResponseHeaders(urn.equals("missing") ? 404 : 200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void testBatchReportsFailuresPerIdentifier() {
+        final XmlDbAccessor accessor = new XmlDbAccessor("http://localhost:" + server.getAddress().getPort());
+        final List<String> urns = List.of("urn:batch:1", "missing", "urn:batch:2", "urn:batch:3");
+        final List<MetsModsResult> results;
+        try (Stream<MetsModsResult> stream = accessor.getMetadataFromAPI(urns)) {
+            results = stream.collect(Collectors.toList());
+        }
+        assertEquals(urns, results.stream().map(MetsModsResult::getIdentifier).collect(Collectors.toList()));
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(3).isSuccess());
+        assertEquals("urn:batch:3", results.get(3).getMetsMods().getMetadata().get("urn"));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.ubleipzig.metadata.transformer.cache;
+
+import de.ubleipzig.metadata.templates.metsmods.MetsMods;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MetsModsCacheTest {
+
+    private static final String JSON = "{\"metadata\":{\"urn\":\"urn:nbn:de:bsz:15-0012-177963\"},\"structures\":[]}";
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void testCacheTiersAndCounters() throws Exception {
+        final MetsModsStore store = new MetsModsStore(tmp.resolve("metsmods"));
+        final AtomicInteger loads = new AtomicInteger();
+        final MetsModsCache cache = new MetsModsCache(10, 3600, store);
+        final MetsMods first = cache.get("urn:a", () -> {
+            loads.incrementAndGet();
+            return JSON;
+        });
+        assertSame(first, cache.get("urn:a", () -> JSON));
+        assertEquals("urn:nbn:de:bsz:15-0012-177963", first.getMetadata().get("urn"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        final MetsModsCache restarted = new MetsModsCache(10, 3600, new MetsModsStore(tmp.resolve("metsmods")));
+        restarted.get("urn:a", () -> {
+            throw new IllegalStateException("not expected");
+        });
+        assertEquals(1, restarted.getDiskHitCount());
+        assertEquals(0, restarted.getMissCount());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testConcurrentLookupsShareOneLoad() throws Exception {
+        final MetsModsCache cache = new MetsModsCache(10, 3600, null);
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final List<Future<MetsMods>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> cache.get("urn:b", () -> {
+                loads.incrementAndGet();
+                release.await();
+                return JSON;
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        final MetsMods metsMods = results.get(0).get();
+        for (Future<MetsMods> f : results) {
+            assertSame(metsMods, f.get());
+        }
+        executor.shutdown();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        final MetsModsCache cache = new MetsModsCache(10, 3600, null);
+        assertThrows(RuntimeException.class, () -> cache.get("urn:c", () -> {
+            throw new IOException("eXist is down");
+        }));
+        assertEquals("urn:nbn:de:bsz:15-0012-177963", cache.get("urn:c", () -> JSON).getMetadata().get("urn"));
+    }
+}